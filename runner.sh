@@ -6,6 +6,7 @@
 #     BROWSER
 #     THREAD_COUNT
 #     TEST_SUITE
+#     EXECUTOR_MODE (optional: platform | virtual)
 #-------------------------------------------------------------------
 
 # Let's print what we have received
@@ -14,6 +15,7 @@ echo "HUB_HOST      : ${HUB_HOST:-hub}"
 echo "BROWSER       : ${BROWSER:-chrome}"
 echo "THREAD_COUNT  : ${THREAD_COUNT:-1}"
 echo "TEST_SUITE    : ${TEST_SUITE}"
+echo "EXECUTOR_MODE : ${EXECUTOR_MODE:-platform}"
 echo "-------------------------------------------"
 
 # Do not start the tests immediately. Hub has to be ready with browser nodes
@@ -67,12 +69,20 @@ done
 # At this point, selenium grid should be up!
 echo "Selenium Grid is up and running. Running the test...."
 
+# Virtual thread mode runs every test flow on its own virtual thread instead of a sized pool
+EXECUTOR_ARGS=""
+if [ "${EXECUTOR_MODE}" = "virtual" ]
+then
+  EXECUTOR_ARGS="-threadpoolfactoryclass com.gaumji.execution.VirtualThreadExecutorFactory"
+fi
+
 # Start the java command
 java -cp 'libs/*' \
      -Dselenium.grid.enabled=true \
      -Dselenium.grid.hubHost="${HUB_HOST:-hub}" \
      -Dbrowser="${BROWSER:-chrome}" \
      org.testng.TestNG \
+     ${EXECUTOR_ARGS} \
      -threadcount "${THREAD_COUNT:-1}" \
      test-suites/"${TEST_SUITE}"
 
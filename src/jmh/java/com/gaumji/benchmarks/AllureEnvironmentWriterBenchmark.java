@@ -0,0 +1,63 @@
+package com.gaumji.benchmarks;
+
+import com.gaumji.util.AllureEnvironmentWriter;
+import com.gaumji.util.Config;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.HasCapabilities;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+Collecting environment info, done every time a session is released.
+Runs inside a started Allure test case like the real call, the file itself is only written when the suite flushes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AllureEnvironmentWriterBenchmark {
+
+    private final HasCapabilities driver = new StubWebDriver();
+    private final String uuid = UUID.randomUUID().toString();
+
+    @Setup
+    public void setUp() {
+        Config.initialize();
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("benchmark"));
+        lifecycle.startTestCase(uuid);
+    }
+
+    // every call adds a browser label to the running test case
+    @TearDown(Level.Iteration)
+    public void clearLabels() {
+        Allure.getLifecycle().updateTestCase(uuid, result -> result.getLabels().clear());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Allure.getLifecycle().stopTestCase(uuid);
+    }
+
+    @Benchmark
+    public void writeEnvironmentInfo() {
+        AllureEnvironmentWriter.writeEnvironmentInfo(driver);
+    }
+}
@@ -0,0 +1,52 @@
+package com.gaumji.benchmarks;
+
+import com.gaumji.util.Config;
+import com.gaumji.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Reading the config from one thread and from many threads at once, like a parallel suite reading urls and grid settings.
+Both the typed snapshot and the raw key lookup read immutable data, contended reads should cost the same as single-threaded ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigBenchmark {
+
+    @Setup
+    public void initialize() {
+        Config.initialize();
+    }
+
+    @Benchmark
+    public String singleThread() {
+        return Config.settings().flightReservationUrl();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String contended() {
+        return Config.settings().flightReservationUrl();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String contendedByKey() {
+        return Config.get(Constants.FLIGHT_RESERVATION_URL);
+    }
+}
@@ -0,0 +1,50 @@
+package com.gaumji.benchmarks;
+
+import com.gaumji.tests.flightreservations.model.FlightReservationTestData;
+import com.gaumji.tests.vendorportal.model.VendorPortalTestData;
+import com.gaumji.util.JsonUtil;
+import com.gaumji.util.TestDataRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Loading the test data files: JsonUtil reads and parses on every call,
+TestDataRegistry (what the tests use in their @BeforeTest) only the first time per JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    @Benchmark
+    public FlightReservationTestData passenger() {
+        return JsonUtil.getData("test-data/flight-reservation/passenger-1.json", FlightReservationTestData.class);
+    }
+
+    @Benchmark
+    public VendorPortalTestData vendor() {
+        return JsonUtil.getData("test-data/vendor-portal/john.json", VendorPortalTestData.class);
+    }
+
+    @Benchmark
+    public FlightReservationTestData registryPassenger() {
+        return TestDataRegistry.get("test-data/flight-reservation/passenger-1.json", FlightReservationTestData.class);
+    }
+
+    @Benchmark
+    public VendorPortalTestData registryVendor() {
+        return TestDataRegistry.get("test-data/vendor-portal/john.json", VendorPortalTestData.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.gaumji.benchmarks;
+
+import com.gaumji.pages.flightreservation.FlightsSearchPage;
+import com.gaumji.pages.flightreservation.RegistrationPage;
+import com.gaumji.pages.vendorportal.DashboardPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Cost of creating a page object: waits, PageFactory.initElements and the caching field proxies.
+Every test step creates at least one of these.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    private final WebDriver driver = new StubWebDriver();
+
+    @Benchmark
+    public RegistrationPage registrationPage() {
+        return new RegistrationPage(driver);
+    }
+
+    @Benchmark
+    public FlightsSearchPage flightsSearchPage() {
+        return new FlightsSearchPage(driver);
+    }
+
+    @Benchmark
+    public DashboardPage dashboardPage() {
+        return new DashboardPage(driver);
+    }
+}
@@ -0,0 +1,203 @@
+package com.gaumji.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/*
+In-memory WebDriver for the benchmarks: every command answers immediately without a browser,
+so the measurements only contain what the framework itself costs.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot, HasCapabilities {
+
+    // roughly the size of a 1920x1080 page screenshot, random so it doesn't compress better than a real png
+    static final byte[] SCREENSHOT = new byte[256 * 1024];
+
+    static {
+        new Random(42).nextBytes(SCREENSHOT);
+    }
+
+    private static final Capabilities CAPABILITIES = new ImmutableCapabilities(
+            "browserName", "chrome",
+            "browserVersion", "134.0",
+            "platformName", "linux");
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return List.of(new StubWebElement());
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return new StubWebElement();
+    }
+
+    @Override
+    public String getPageSource() {
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Set.of("stub");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "stub";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException("switchTo");
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException("navigate");
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException("manage");
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return target.convertFromPngBytes(SCREENSHOT);
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        return CAPABILITIES;
+    }
+
+    private static class StubWebElement implements WebElement {
+
+        @Override
+        public void click() {
+        }
+
+        @Override
+        public void submit() {
+        }
+
+        @Override
+        public void sendKeys(CharSequence... keysToSend) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
+        @Override
+        public String getTagName() {
+            return "div";
+        }
+
+        @Override
+        public String getAttribute(String name) {
+            return null;
+        }
+
+        @Override
+        public boolean isSelected() {
+            return false;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public String getText() {
+            return "";
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return List.of(new StubWebElement());
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            return new StubWebElement();
+        }
+
+        @Override
+        public boolean isDisplayed() {
+            return true;
+        }
+
+        @Override
+        public Point getLocation() {
+            return new Point(0, 0);
+        }
+
+        @Override
+        public Dimension getSize() {
+            return new Dimension(100, 20);
+        }
+
+        @Override
+        public Rectangle getRect() {
+            return new Rectangle(getLocation(), getSize());
+        }
+
+        @Override
+        public String getCssValue(String propertyName) {
+            return "";
+        }
+
+        @Override
+        public <X> X getScreenshotAs(OutputType<X> target) {
+            return target.convertFromPngBytes(SCREENSHOT);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.gaumji.benchmarks;
+
+import com.gaumji.listener.TestListener;
+import com.gaumji.util.Constants;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testng.IInvokedMethod;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+Failure handling of the listener as seen by the failing test thread: screenshot capture, hashing and the TestNG/Allure entries.
+The stub driver returns a fixed 256KB png, it is written once and every later failure only hashes it.
+Runs inside a started Allure test case, the failure log attachments are written by the report writer thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestListenerBenchmark {
+
+    private final TestListener listener = new TestListener();
+    private IInvokedMethod method;
+    private ITestResult result;
+    private final String uuid = UUID.randomUUID().toString();
+
+    @Setup
+    public void setUp() {
+        ITestContext context = stub(ITestContext.class, Map.of("getAttribute", new StubWebDriver(), "getName", "benchmark",
+                "getOutputDirectory", "target/jmh-listener/benchmark"));
+        this.method = stub(IInvokedMethod.class, Map.of("isTestMethod", true));
+        // a test without retry analyzer, the checkpoint bookkeeping is left out
+        ITestNGMethod testMethod = stub(ITestNGMethod.class, Map.of("getMethodName", "benchmark"));
+        this.result = stub(ITestResult.class, Map.of(
+                "getMethod", testMethod,
+                "getTestContext", context,
+                "getStatus", ITestResult.FAILURE,
+                "getThrowable", new AssertionError("expected [true] but found [false]"),
+                "id", "benchmark"));
+        Reporter.setCurrentTestResult(this.result);
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("benchmark"));
+        lifecycle.startTestCase(uuid);
+    }
+
+    // Reporter and the test case keep every logged line and attachment in memory
+    @TearDown(Level.Iteration)
+    public void clearReporter() {
+        Reporter.clear();
+        Allure.getLifecycle().updateTestCase(uuid, testCase -> testCase.getAttachments().clear());
+    }
+
+    @TearDown
+    public void tearDown() {
+        Allure.getLifecycle().stopTestCase(uuid);
+    }
+
+    @Benchmark
+    public void afterFailedInvocation() {
+        listener.afterInvocation(method, result);
+    }
+
+    // TestNG interfaces are large, only the methods the listener calls need an answer
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (answers.containsKey(method.getName())) {
+                return answers.get(method.getName());
+            }
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + " stub";
+                default -> defaultValue(method.getReturnType());
+            };
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object defaultValue(Class<?> returnType) {
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.gaumji.logging;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+Keeps the last log events of every running test in memory, routed by the MDC key set while the test method runs.
+Appending only stores the event, it is laid out when the log is collected for a failed test; passed tests just drop their buffer.
+Like logback's AsyncAppender the event is prepared for deferred processing first: the message, thread name and MDC are
+fixed while the logging thread still holds them, the arguments may change or the thread move on before the collect.
+Configured in logback.xml, the pattern and the capacity per test can be changed there.
+ */
+public class TestLogBuffer extends AppenderBase<ILoggingEvent> {
+
+    public static final String MDC_KEY = "test";
+
+    private static final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private static volatile PatternLayout layout;
+
+    private String pattern = "%d{HH:mm:ss.SSS} %-5level %logger{30} - %msg%n";
+    private int capacity = 2000;
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void start() {
+        PatternLayout patternLayout = new PatternLayout();
+        patternLayout.setContext(getContext());
+        patternLayout.setPattern(pattern);
+        patternLayout.start();
+        layout = patternLayout;
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        String test = event.getMDCPropertyMap().get(MDC_KEY);
+        if (test != null) {
+            event.prepareForDeferredProcessing();
+            buffers.computeIfAbsent(test, k -> new Buffer(capacity)).add(event);
+        }
+    }
+
+    // Formatted log of the test, null when nothing was logged; the buffer is released either way
+    public static String collect(String test) {
+        Buffer buffer = buffers.remove(test);
+        PatternLayout patternLayout = layout;
+        return buffer == null || patternLayout == null ? null : buffer.format(patternLayout);
+    }
+
+    public static void discard(String test) {
+        buffers.remove(test);
+    }
+
+    private static final class Buffer {
+
+        private final ArrayDeque<ILoggingEvent> events;
+        private final int capacity;
+        private int dropped;
+
+        Buffer(int capacity) {
+            this.events = new ArrayDeque<>(Math.min(capacity, 256));
+            this.capacity = capacity;
+        }
+
+        synchronized void add(ILoggingEvent event) {
+            if (events.size() == capacity) {
+                events.pollFirst();
+                dropped++;
+            }
+            events.addLast(event);
+        }
+
+        synchronized String format(PatternLayout layout) {
+            StringBuilder log = new StringBuilder();
+            if (dropped > 0) {
+                log.append("... ").append(dropped).append(" earlier line(s) dropped\n");
+            }
+            events.forEach(event -> log.append(layout.doLayout(event)));
+            return log.toString();
+        }
+    }
+}
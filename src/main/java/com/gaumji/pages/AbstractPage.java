@@ -1,5 +1,6 @@
 package com.gaumji.pages;
 
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -8,16 +9,68 @@ import java.time.Duration;
 
 public abstract class AbstractPage {
 
+    // browser name of the in-JVM backend, the only one that can't show every page
+    private static final String HTMLUNIT = "htmlunit";
+
+    // page the current thread is working on, used to attribute browser commands in the perf reports
+    private static final ThreadLocal<String> activePage = new ThreadLocal<>();
+
     protected final WebDriver driver;
     protected final WebDriverWait wait;
+    protected final BrowserWait waitFor;
+    private ActionPipeline actions;
 
     public AbstractPage(WebDriver driver){
+        activePage.set(getClass().getSimpleName());
+        checkBrowserSupport(driver);
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(30));
-        PageFactory.initElements(driver, this);
+        this.waitFor = new BrowserWait(this, this.wait, Duration.ofSeconds(30));
+        // resolved elements are cached per page instance and looked up again only when they go stale
+        PageFactory.initElements(new CachingFieldDecorator(new CachingElementLocatorFactory(driver)), this);
+    }
+
+    // Waits until the page is shown; once it is, the browser's timings of the page are recorded (see PagePerformance)
+    public final boolean isAt() {
+        boolean loaded = isLoaded();
+        if (loaded) {
+            PagePerformance.capture(this);
+        }
+        return loaded;
     }
 
     // Subclasses must override this
-    public abstract boolean isAt();
+    protected abstract boolean isLoaded();
+
+    private void checkBrowserSupport(WebDriver driver) {
+        RequiresRealBrowser requirement = getClass().getAnnotation(RequiresRealBrowser.class);
+        if (requirement != null && driver instanceof HasCapabilities session
+                && HTMLUNIT.equalsIgnoreCase(session.getCapabilities().getBrowserName())) {
+            throw new UnsupportedBrowserException(getClass().getSimpleName() + " needs a real browser"
+                    + (requirement.value().isEmpty() ? "" : ": " + requirement.value()));
+        }
+    }
+
+    public static String getActivePage() {
+        return activePage.get();
+    }
+
+    // Page objects can be created up front, so the page is marked active again whenever it waits or acts
+    void markActive() {
+        activePage.set(getClass().getSimpleName());
+    }
+
+    // Queues inputs, selects and clicks for this page; nothing reaches the browser until perform() is called
+    protected ActionPipeline actions() {
+        if (this.actions == null) {
+            this.actions = new ActionPipeline(this);
+        }
+        return this.actions;
+    }
+
+    // Reads the text of several @FindBy fields with a single browser round-trip
+    protected PageSnapshot.Builder snapshot() {
+        return new PageSnapshot.Builder(this);
+    }
 
 }
@@ -0,0 +1,170 @@
+package com.gaumji.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Select;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+Collects the inputs, selects and clicks of a page and sends them to the browser as one script on perform().
+Values are set through the native value setter followed by input/change events, so framework bound forms see the change.
+
+Strict mode (-Dactions.strict=true or strict(true)) runs every action right away with real key events instead.
+If the batched script hits an element that is missing or not clickable yet, the remaining actions are replayed in strict mode.
+jsClick is for elements the app covers or animates: strict mode waits until they are clickable and clicks them through a script too.
+ */
+public final class ActionPipeline {
+
+    public static final String STRICT_PROPERTY = "actions.strict";
+
+    private static final Logger log = LoggerFactory.getLogger(ActionPipeline.class);
+
+    private static final String PERFORM_SCRIPT = PageElements.FIND_FUNCTION + """
+            var actions = arguments[0];
+            function setValue(element, value) {
+                var prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                        : element instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;
+                Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, value);
+                element.dispatchEvent(new Event('input', { bubbles: true }));
+                element.dispatchEvent(new Event('change', { bubbles: true }));
+            }
+            function isClickable(element) {
+                var style = window.getComputedStyle(element);
+                return !element.disabled && style.visibility !== 'hidden' && element.getClientRects().length > 0;
+            }
+            for (var i = 0; i < actions.length; i++) {
+                var action = actions[i];
+                var element = findAll(action.locator)[action.index];
+                if (!element) {
+                    return { index: i, reason: 'element not found' };
+                }
+                if (action.kind === 'type') {
+                    element.focus();
+                    // sendKeys appends to what is already in the field
+                    setValue(element, (element.value || '') + action.value);
+                } else if (action.kind === 'select') {
+                    if (!Array.from(element.options).some(function (o) { return o.value === action.value; })) {
+                        return { index: i, reason: 'no option with value ' + action.value };
+                    }
+                    setValue(element, action.value);
+                } else {
+                    if (!isClickable(element)) {
+                        return { index: i, reason: 'element not clickable yet' };
+                    }
+                    element.click();
+                }
+            }
+            return null;
+            """;
+
+    private final AbstractPage page;
+    private final List<Action> pending = new ArrayList<>();
+    private boolean strict = Boolean.getBoolean(STRICT_PROPERTY);
+
+    ActionPipeline(AbstractPage page) {
+        this.page = page;
+    }
+
+    public ActionPipeline strict(boolean strict) {
+        this.strict = strict;
+        return this;
+    }
+
+    public ActionPipeline type(WebElement field, String value) {
+        return add(new Action(Kind.TYPE, field, field, 0, value));
+    }
+
+    public ActionPipeline select(WebElement field, String value) {
+        return add(new Action(Kind.SELECT, field, field, 0, value));
+    }
+
+    public ActionPipeline click(WebElement field) {
+        return add(new Action(Kind.CLICK, field, field, 0, null));
+    }
+
+    // Clicks the n-th element of a List<WebElement> field
+    public ActionPipeline click(List<WebElement> fields, int index) {
+        return add(new Action(Kind.CLICK, fields, null, index, null));
+    }
+
+    public ActionPipeline jsClick(WebElement field) {
+        return add(new Action(Kind.JS_CLICK, field, field, 0, null));
+    }
+
+    public ActionPipeline jsClick(List<WebElement> fields, int index) {
+        return add(new Action(Kind.JS_CLICK, fields, null, index, null));
+    }
+
+    public void perform() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        page.markActive();
+        List<Action> actions = new ArrayList<>(pending);
+        pending.clear();
+
+        List<Map<String, Object>> payload = new ArrayList<>();
+        for (Action action : actions) {
+            Map<String, Object> locator = PageElements.toScriptLocator(PageElements.locatorOf(page, action.proxy));
+            if (locator == null) {
+                // not expressible in the browser, keep the whole batch on the WebDriver path
+                log.info("Batch contains a locator that can't run in the browser, performing {} action(s) one by one", actions.size());
+                actions.forEach(this::performStrict);
+                return;
+            }
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("kind", action.kind.name().toLowerCase());
+            entry.put("locator", locator);
+            entry.put("index", action.index);
+            // clicks carry no value, some drivers refuse null script arguments
+            if (action.value != null) {
+                entry.put("value", action.value);
+            }
+            payload.add(entry);
+        }
+
+        Object result = ((JavascriptExecutor) page.driver).executeScript(PERFORM_SCRIPT, payload);
+        if (result == null) {
+            log.info("⚡ Performed {} action(s) on {} in one call", actions.size(), page.getClass().getSimpleName());
+            return;
+        }
+        Map<?, ?> failure = (Map<?, ?>) result;
+        int failedAt = ((Number) failure.get("index")).intValue();
+        log.info("Batched actions stopped at #{} ({}), performing the rest one by one", failedAt, failure.get("reason"));
+        actions.subList(failedAt, actions.size()).forEach(this::performStrict);
+    }
+
+    private ActionPipeline add(Action action) {
+        if (strict) {
+            performStrict(action);
+        } else {
+            pending.add(action);
+        }
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void performStrict(Action action) {
+        WebElement element = action.element != null ? action.element : ((List<WebElement>) action.proxy).get(action.index);
+        switch (action.kind) {
+            case TYPE -> element.sendKeys(action.value);
+            case SELECT -> new Select(element).selectByValue(action.value);
+            case CLICK -> page.wait.until(ExpectedConditions.elementToBeClickable(element)).click();
+            case JS_CLICK -> ((JavascriptExecutor) page.driver).executeScript("arguments[0].click();",
+                    page.wait.until(ExpectedConditions.elementToBeClickable(element)));
+        }
+    }
+
+    // in the batched script every click is a script click, the kinds only differ in strict mode
+    private enum Kind {TYPE, SELECT, CLICK, JS_CLICK}
+
+    private record Action(Kind kind, Object proxy, WebElement element, int index, String value) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.gaumji.pages;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+Waits that run inside the browser: one async script watches the DOM (MutationObserver + animation frames)
+and returns as soon as the condition holds, instead of WebDriverWait polling over the wire every 500ms.
+Falls back to the WebDriverWait for locators that can't be evaluated in the browser.
+ */
+public final class BrowserWait {
+
+    // stay below the default 30s W3C script timeout, longer waits are split into several calls
+    private static final Duration MAX_SCRIPT_WAIT = Duration.ofSeconds(25);
+
+    private static final String WAIT_SCRIPT = PageElements.FIND_FUNCTION + """
+            var locator = arguments[0], condition = arguments[1], expected = arguments[2], timeoutMs = arguments[3];
+            var done = arguments[arguments.length - 1];
+            function isVisible(element) {
+                var style = window.getComputedStyle(element);
+                return style.display !== 'none' && style.visibility !== 'hidden' && style.opacity !== '0'
+                        && element.getClientRects().length > 0;
+            }
+            function check() {
+                var element = findAll(locator)[0];
+                if (!element) {
+                    return false;
+                }
+                switch (condition) {
+                    case 'visible': return isVisible(element);
+                    case 'clickable': return isVisible(element) && !element.disabled;
+                    case 'text': return (element.innerText || element.textContent || '').indexOf(expected) >= 0;
+                    default: return false;
+                }
+            }
+            // errors of the condition itself (a bad xpath...) come back as a result, some engines never return a thrown one
+            function checkOrReport() {
+                try {
+                    return check();
+                } catch (e) {
+                    return { error: String(e && e.message || e) };
+                }
+            }
+            var first = checkOrReport();
+            if (first) {
+                done(first);
+                return;
+            }
+            var finished = false;
+            var observer = new MutationObserver(evaluate);
+            var timer = setTimeout(function () { finish(false); }, timeoutMs);
+            // htmlunit delivers few mutations and runs no animation frames, a slow poll covers it
+            var poll = setInterval(evaluate, 100);
+            function finish(result) {
+                if (finished) { return; }
+                finished = true;
+                observer.disconnect();
+                clearTimeout(timer);
+                clearInterval(poll);
+                done(result);
+            }
+            function evaluate() {
+                if (finished) { return; }
+                var result = checkOrReport();
+                if (result) { finish(result); }
+            }
+            observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true, characterData: true });
+            // style and layout changes (css transitions, stylesheets loading) don't always show up as mutations
+            (function onFrame() {
+                if (finished) { return; }
+                evaluate();
+                requestAnimationFrame(onFrame);
+            })();
+            """;
+
+    private final AbstractPage page;
+    private final WebDriverWait fallback;
+    private final Duration timeout;
+
+    BrowserWait(AbstractPage page, WebDriverWait fallback, Duration timeout) {
+        this.page = page;
+        this.fallback = fallback;
+        this.timeout = timeout;
+    }
+
+    public void visible(WebElement field) {
+        until(field, "visible", "", ExpectedConditions.visibilityOf(field));
+    }
+
+    public void clickable(WebElement field) {
+        until(field, "clickable", "", ExpectedConditions.elementToBeClickable(field));
+    }
+
+    public void text(WebElement field, String expected) {
+        until(field, "text", expected, ExpectedConditions.textToBePresentInElement(field, expected));
+    }
+
+    private void until(WebElement field, String condition, String expected, ExpectedCondition<?> fallbackCondition) {
+        page.markActive();
+        Map<String, Object> locator = PageElements.toScriptLocator(PageElements.locatorOf(page, field));
+        if (locator == null) {
+            fallback.until(fallbackCondition);
+            return;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long remaining;
+        int scriptErrors = 0;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            long chunk = Math.min(Duration.ofNanos(remaining).toMillis(), MAX_SCRIPT_WAIT.toMillis());
+            Object result;
+            try {
+                result = ((JavascriptExecutor) page.driver).executeAsyncScript(WAIT_SCRIPT, locator, condition, expected, chunk);
+            } catch (JavascriptException | ScriptTimeoutException e) {
+                // the document was replaced while we were waiting (navigation), wait again in the new one;
+                // any other error gets one more try and is then reported as it is, not as a timeout
+                if (!isNavigation(e) && ++scriptErrors > 1) {
+                    e.addInfo("Waiting for", condition + " of " + PageElements.locatorOf(page, field));
+                    throw e;
+                }
+                continue;
+            }
+            if (Boolean.TRUE.equals(result)) {
+                return;
+            }
+            if (result instanceof Map<?, ?> failure) {
+                // the condition can't be evaluated at all, waiting longer won't change that
+                throw new JavascriptException(String.format("Unable to check %s of %s: %s",
+                        condition, PageElements.locatorOf(page, field), failure.get("error")));
+            }
+        }
+        throw new TimeoutException(String.format("Expected condition failed: waiting for %s of %s (tried for %d second(s))",
+                condition, PageElements.locatorOf(page, field), timeout.toSeconds()));
+    }
+
+    private static boolean isNavigation(WebDriverException e) {
+        String message = String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+        return message.contains("unload") || message.contains("navigat") || message.contains("detached");
+    }
+}
@@ -0,0 +1,101 @@
+package com.gaumji.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Creates locators that remember the element they found for the lifetime of the page object.
+Unlike @CacheLookup the cached element is dropped as soon as the browser reports it stale (see CachingFieldDecorator),
+so there is no extra round-trip to check it and a re-rendered element is simply looked up again.
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final Map<String, FieldStats> statsByField = new ConcurrentHashMap<>();
+
+    private final SearchContext searchContext;
+
+    public CachingElementLocatorFactory(SearchContext searchContext) {
+        this.searchContext = searchContext;
+    }
+
+    @Override
+    public ElementLocator createLocator(Field field) {
+        String name = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+        FieldStats stats = statsByField.computeIfAbsent(name, k -> new FieldStats());
+        return new CachingElementLocator(searchContext, new Annotations(field).buildBy(), name, stats);
+    }
+
+    // "Page.field" -> "hits=.., misses=.., stale=.." for every field that was used
+    public static Map<String, String> getStats() {
+        Map<String, String> stats = new TreeMap<>();
+        statsByField.forEach((field, s) -> {
+            if (s.hits.sum() + s.misses.sum() > 0) {
+                stats.put(field, String.format("hits=%d, misses=%d, stale=%d", s.hits.sum(), s.misses.sum(), s.stale.sum()));
+            }
+        });
+        return stats;
+    }
+
+    static final class CachingElementLocator implements ElementLocator {
+
+        private final SearchContext searchContext;
+        private final By by;
+        private final String name;
+        private final FieldStats stats;
+        private volatile WebElement cachedElement;
+
+        private CachingElementLocator(SearchContext searchContext, By by, String name, FieldStats stats) {
+            this.searchContext = searchContext;
+            this.by = by;
+            this.name = name;
+            this.stats = stats;
+        }
+
+        @Override
+        public WebElement findElement() {
+            WebElement element = cachedElement;
+            if (element != null) {
+                stats.hits.increment();
+                return element;
+            }
+            stats.misses.increment();
+            element = searchContext.findElement(by);
+            cachedElement = element;
+            return element;
+        }
+
+        // lists are not cached, the number of matching elements changes on these pages
+        @Override
+        public List<WebElement> findElements() {
+            stats.misses.increment();
+            return searchContext.findElements(by);
+        }
+
+        void invalidate() {
+            stats.stale.increment();
+            cachedElement = null;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + by + ")";
+        }
+    }
+
+    private static final class FieldStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder stale = new LongAdder();
+    }
+}
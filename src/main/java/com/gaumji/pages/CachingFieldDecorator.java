@@ -0,0 +1,62 @@
+package com.gaumji.pages;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/*
+Same proxies as the default PageFactory decorator, but a StaleElementReferenceException from the cached element
+drops it from the cache and the call is retried once on a freshly located element.
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    public CachingFieldDecorator(CachingElementLocatorFactory factory) {
+        super(factory);
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        if (!(locator instanceof CachingElementLocatorFactory.CachingElementLocator cachingLocator)) {
+            return super.proxyForLocator(loader, locator);
+        }
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new StaleRetryingHandler(cachingLocator));
+    }
+
+    private record StaleRetryingHandler(CachingElementLocatorFactory.CachingElementLocator locator) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                // logging a proxy should not cost a lookup
+                return "Proxy element for: " + locator;
+            }
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            locator.invalidate();
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
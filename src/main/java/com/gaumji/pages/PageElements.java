@@ -0,0 +1,104 @@
+package com.gaumji.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+Maps the PageFactory proxies of a page back to their @FindBy locators,
+so that bulk operations can find the elements inside the browser instead of one findElement call per field.
+ */
+final class PageElements {
+
+    // Finds elements from a {using, value} locator, the W3C strategies plus the id / name / class name
+    // ones Selenium only turns into css selectors when it sends the command
+    static final String FIND_FUNCTION = """
+            function findAll(locator) {
+                switch (locator.using) {
+                    case 'id':
+                        var element = document.getElementById(locator.value);
+                        return element ? [element] : [];
+                    case 'name':
+                        return Array.from(document.getElementsByName(locator.value));
+                    case 'class name':
+                        return Array.from(document.getElementsByClassName(locator.value));
+                    case 'css selector':
+                        return Array.from(document.querySelectorAll(locator.value));
+                    case 'xpath':
+                        var result = document.evaluate(locator.value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                        var nodes = [];
+                        for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }
+                        return nodes;
+                    case 'tag name':
+                        return Array.from(document.getElementsByTagName(locator.value));
+                    case 'link text':
+                        return Array.from(document.querySelectorAll('a')).filter(function (a) { return a.innerText.trim() === locator.value; });
+                    case 'partial link text':
+                        return Array.from(document.querySelectorAll('a')).filter(function (a) { return a.innerText.indexOf(locator.value) >= 0; });
+                    default:
+                        return [];
+                }
+            }
+            """;
+
+    private static final Map<Class<?>, List<Field>> fieldsByPage = new ConcurrentHashMap<>();
+    private static final Map<Field, By> locatorsByField = new ConcurrentHashMap<>();
+
+    private PageElements() {
+    }
+
+    // proxy is a WebElement or List<WebElement> field value of the page, compared by identity to avoid triggering a lookup
+    static Field fieldOf(AbstractPage page, Object proxy) {
+        for (Field field : fields(page.getClass())) {
+            try {
+                if (field.get(page) == proxy) {
+                    return field;
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to read field " + field.getName(), e);
+            }
+        }
+        throw new IllegalArgumentException("Element is not a @FindBy field of " + page.getClass().getSimpleName());
+    }
+
+    static By locatorOf(AbstractPage page, Object proxy) {
+        return locatorsByField.computeIfAbsent(fieldOf(page, proxy), field -> new Annotations(field).buildBy());
+    }
+
+    // null when the locator can't be evaluated in the browser (e.g. @FindBys chains)
+    static Map<String, Object> toScriptLocator(By by) {
+        if (by instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            return Map.of("using", parameters.using(), "value", parameters.value());
+        }
+        return null;
+    }
+
+    private static List<Field> fields(Class<?> pageClass) {
+        return fieldsByPage.computeIfAbsent(pageClass, type -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != AbstractPage.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    boolean element = WebElement.class.isAssignableFrom(field.getType()) || List.class.isAssignableFrom(field.getType());
+                    boolean annotated = field.isAnnotationPresent(FindBy.class)
+                            || field.isAnnotationPresent(FindBys.class)
+                            || field.isAnnotationPresent(FindAll.class);
+                    if (element && annotated) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        });
+    }
+}
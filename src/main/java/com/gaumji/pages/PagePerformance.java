@@ -0,0 +1,180 @@
+package com.gaumji.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+Browser-side timings of the pages the page objects waited for: Navigation Timing, first (contentful) paint,
+largest contentful paint and a Resource Timing summary, read with one script call right after isAt() succeeds.
+Every document is captured once, by the first page object that sees it, so a single page app reports its first screen.
+Enabled with -Dmetrics.pages.enabled=true. Captures are kept per page class for the suite summary and per thread until the test collects them.
+ */
+public final class PagePerformance {
+
+    public static final String ENABLED_PROPERTY = "metrics.pages.enabled";
+
+    private static final Logger log = LoggerFactory.getLogger(PagePerformance.class);
+
+    private static final String CAPTURE_SCRIPT = """
+            if (window.__pagePerformanceCaptured) {
+                return null;
+            }
+            window.__pagePerformanceCaptured = true;
+            var result = { url: location.href };
+            var navigation = performance.getEntriesByType('navigation')[0];
+            if (navigation) {
+                result.navigation = {
+                    type: navigation.type,
+                    dns: Math.round(navigation.domainLookupEnd - navigation.domainLookupStart),
+                    connect: Math.round(navigation.connectEnd - navigation.connectStart),
+                    timeToFirstByte: Math.round(navigation.responseStart),
+                    domInteractive: Math.round(navigation.domInteractive),
+                    domContentLoaded: Math.round(navigation.domContentLoadedEventEnd),
+                    // 0 while the load event is still pending (eager page load strategy)
+                    load: Math.round(navigation.loadEventEnd),
+                    transferSize: navigation.transferSize || 0
+                };
+            }
+            performance.getEntriesByType('paint').forEach(function (entry) {
+                result[entry.name === 'first-paint' ? 'firstPaint' : 'firstContentfulPaint'] = Math.round(entry.startTime);
+            });
+            try {
+                // buffered entries are handed to takeRecords() right away
+                var observer = new PerformanceObserver(function () {});
+                observer.observe({ type: 'largest-contentful-paint', buffered: true });
+                var lcp = observer.takeRecords().pop();
+                observer.disconnect();
+                if (lcp) {
+                    result.largestContentfulPaint = Math.round(lcp.startTime);
+                }
+            } catch (e) {
+                // not supported by this browser
+            }
+            var resources = performance.getEntriesByType('resource');
+            var byType = {};
+            var transferSize = 0;
+            resources.forEach(function (entry) {
+                var type = byType[entry.initiatorType] || (byType[entry.initiatorType] = { count: 0, transferSize: 0 });
+                type.count++;
+                type.transferSize += entry.transferSize || 0;
+                transferSize += entry.transferSize || 0;
+            });
+            result.resources = {
+                count: resources.length,
+                transferSize: transferSize,
+                byType: byType,
+                slowest: resources.slice().sort(function (a, b) { return b.duration - a.duration; }).slice(0, 5)
+                        .map(function (entry) {
+                            return { name: entry.name, type: entry.initiatorType, duration: Math.round(entry.duration), transferSize: entry.transferSize || 0 };
+                        })
+            };
+            return result;
+            """;
+
+    // the numbers summarized per page class, as paths into the captured metrics
+    private static final Map<String, String[]> SUMMARY_METRICS = Map.of(
+            "timeToFirstByte", new String[]{"navigation", "timeToFirstByte"},
+            "domContentLoaded", new String[]{"navigation", "domContentLoaded"},
+            "load", new String[]{"navigation", "load"},
+            "firstContentfulPaint", new String[]{"firstContentfulPaint"},
+            "largestContentfulPaint", new String[]{"largestContentfulPaint"},
+            "resourceTransferSize", new String[]{"resources", "transferSize"});
+
+    private static final Map<String, Map<String, List<Long>>> byPage = new ConcurrentHashMap<>();
+    private static final ThreadLocal<List<Capture>> captured = ThreadLocal.withInitial(ArrayList::new);
+
+    private PagePerformance() {
+    }
+
+    static void capture(AbstractPage page) {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return;
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) page.driver).executeScript(CAPTURE_SCRIPT);
+        } catch (WebDriverException e) {
+            // timings are a by-product, a page that is navigating away just isn't measured
+            log.debug("Unable to read page timings of {}: {}", page.getClass().getSimpleName(), e.getMessage());
+            return;
+        }
+        if (!(result instanceof Map<?, ?> metrics)) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Capture capture = new Capture(page.getClass().getSimpleName(), (Map<String, Object>) metrics);
+        captured.get().add(capture);
+        Map<String, List<Long>> stats = byPage.computeIfAbsent(capture.page(), k -> new ConcurrentHashMap<>());
+        SUMMARY_METRICS.forEach((name, path) -> {
+            Long value = capture.number(path);
+            // a pending load event reports 0
+            if (value != null && value > 0) {
+                stats.computeIfAbsent(name, k -> Collections.synchronizedList(new ArrayList<>())).add(value);
+            }
+        });
+    }
+
+    // Captures of the current thread since the last call, the listener attaches them to the test
+    public static List<Capture> collect() {
+        List<Capture> captures = captured.get();
+        captured.remove();
+        return captures;
+    }
+
+    // page class -> metric -> {count, p50, p95, max}, in milliseconds (bytes for resourceTransferSize)
+    public static Map<String, Map<String, Map<String, Long>>> getSummary() {
+        Map<String, Map<String, Map<String, Long>>> summary = new TreeMap<>();
+        byPage.forEach((page, stats) -> {
+            Map<String, Map<String, Long>> metrics = new TreeMap<>();
+            stats.forEach((name, values) -> {
+                List<Long> sorted;
+                synchronized (values) {
+                    sorted = new ArrayList<>(values);
+                }
+                Collections.sort(sorted);
+                Map<String, Long> summarized = new LinkedHashMap<>();
+                summarized.put("count", (long) sorted.size());
+                summarized.put("p50", percentile(sorted, 50));
+                summarized.put("p95", percentile(sorted, 95));
+                summarized.put("max", sorted.get(sorted.size() - 1));
+                metrics.put(name, summarized);
+            });
+            summary.put(page, metrics);
+        });
+        return summary;
+    }
+
+    // Starts the summary over, called once it is reported so the next suite of the JVM gets its own
+    public static void reset() {
+        byPage.clear();
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    public record Capture(String page, Map<String, Object> metrics) {
+
+        Long number(String... path) {
+            Object value = metrics;
+            for (String key : path) {
+                if (!(value instanceof Map<?, ?> map)) {
+                    return null;
+                }
+                value = map.get(key);
+            }
+            return value instanceof Number number ? number.longValue() : null;
+        }
+    }
+}
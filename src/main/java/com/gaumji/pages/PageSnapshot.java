@@ -0,0 +1,119 @@
+package com.gaumji.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+Text of several page elements read with a single executeScript call.
+Reading a @FindBy field normally costs two round-trips (findElement + getText), a snapshot costs one for all of them.
+ */
+public final class PageSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(PageSnapshot.class);
+
+    private static final String READ_TEXT_SCRIPT = PageElements.FIND_FUNCTION + """
+            var fields = arguments[0];
+            var values = {};
+            Object.keys(fields).forEach(function (name) {
+                var element = findAll(fields[name])[0];
+                values[name] = element ? (element.innerText || element.textContent || '').replace(/\\u00a0/g, ' ').trim() : null;
+            });
+            return values;
+            """;
+
+    private static final Map<Class<?>, LongAdder> roundTripsSaved = new ConcurrentHashMap<>();
+
+    private final Map<String, String> values;
+
+    private PageSnapshot(Map<String, String> values) {
+        this.values = Collections.unmodifiableMap(values);
+    }
+
+    public String get(String name) {
+        if (!values.containsKey(name)) {
+            throw new IllegalArgumentException("'" + name + "' was not part of the snapshot");
+        }
+        return values.get(name);
+    }
+
+    public int getInt(String name) {
+        return Integer.parseInt(get(name));
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public static Map<String, Long> getRoundTripsSaved() {
+        Map<String, Long> saved = new LinkedHashMap<>();
+        roundTripsSaved.forEach((page, count) -> saved.put(page.getSimpleName(), count.sum()));
+        return saved;
+    }
+
+    public static final class Builder {
+
+        private final AbstractPage page;
+        private final Map<String, WebElement> elements = new LinkedHashMap<>();
+
+        Builder(AbstractPage page) {
+            this.page = page;
+        }
+
+        public Builder text(String name, WebElement element) {
+            elements.put(name, element);
+            return this;
+        }
+
+        public PageSnapshot read() {
+            page.markActive();
+            Map<String, Object> locators = new LinkedHashMap<>();
+            List<String> fallback = new ArrayList<>();
+            elements.forEach((name, element) -> {
+                Map<String, Object> locator = PageElements.toScriptLocator(PageElements.locatorOf(page, element));
+                if (locator != null) {
+                    locators.put(name, locator);
+                } else {
+                    fallback.add(name);
+                }
+            });
+
+            Map<String, String> values = new LinkedHashMap<>();
+            if (!locators.isEmpty()) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) page.driver).executeScript(READ_TEXT_SCRIPT, locators);
+                for (String name : locators.keySet()) {
+                    Object value = result.get(name);
+                    if (value == null) {
+                        By by = PageElements.locatorOf(page, elements.get(name));
+                        throw new NoSuchElementException("Unable to locate '" + name + "' for snapshot: " + by);
+                    }
+                    values.put(name, value.toString());
+                }
+            }
+            // locators that can't run in the browser are read the usual way
+            fallback.forEach(name -> values.put(name, elements.get(name).getText()));
+
+            int saved = 2 * locators.size() - (locators.isEmpty() ? 0 : 1);
+            roundTripsSaved.computeIfAbsent(page.getClass(), k -> new LongAdder()).add(saved);
+            log.info("📸 Read {} value(s) from {} in one call, saved {} round-trip(s)",
+                    values.size(), page.getClass().getSimpleName(), saved);
+
+            // keep the declaration order
+            Map<String, String> ordered = new LinkedHashMap<>();
+            elements.keySet().forEach(name -> ordered.put(name, values.get(name)));
+            return new PageSnapshot(ordered);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.gaumji.pages;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+Marks a page that only works in a real browser (layout, canvas, DevTools ...).
+Opening it on the in-JVM htmlunit backend throws UnsupportedBrowserException and the test is reported as skipped.
+Build such pages in the test methods: TestNG keeps an exception of a configuration method a configuration failure.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RequiresRealBrowser {
+
+    // why htmlunit can't show the page, ends up in the skip message
+    String value() default "";
+}
@@ -0,0 +1,11 @@
+package com.gaumji.pages;
+
+// Thrown when a @RequiresRealBrowser page is opened on a browser that can't show it
+public class UnsupportedBrowserException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnsupportedBrowserException(String message) {
+        super(message);
+    }
+}
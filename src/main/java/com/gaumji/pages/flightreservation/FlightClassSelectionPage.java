@@ -2,11 +2,9 @@ package com.gaumji.pages.flightreservation;
 
 import com.gaumji.pages.AbstractPage;
 import io.qameta.allure.Step;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,8 +30,8 @@ public class FlightClassSelectionPage extends AbstractPage {
 
     @Override
     @Step("Verify if Flight Class Selection Page is displayed")
-    public boolean isAt() {
-        this.wait.until(ExpectedConditions.visibilityOf(this.confirmFlightsButton));
+    protected boolean isLoaded() {
+        this.waitFor.visible(this.confirmFlightsButton);
         boolean visible = this.confirmFlightsButton.isDisplayed();
         log.info("Flight Class Selection Page isAt check: {}", visible);
         return visible;
@@ -44,28 +42,17 @@ public class FlightClassSelectionPage extends AbstractPage {
         int randomIndex = ThreadLocalRandom.current().nextInt(0, departureFlightClassOptions.size());
         log.info("Selecting flight options at index: {}", randomIndex);
 
-        // Get references to the elements
-        WebElement departureFlight = departureFlightClassOptions.get(randomIndex);
-        WebElement arrivalFlight = arrivalFlightClassOptions.get(randomIndex);
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-
-        // ✅ FIX: Wait for the departure flight to be ready, then use a forceful JS click
-        this.wait.until(ExpectedConditions.elementToBeClickable(departureFlight));
-        js.executeScript("arguments[0].click();", departureFlight);
-        log.info("Departure flight class selected via JavaScript");
-
-        // ✅ FIX: Wait for the arrival flight to be ready, then use a forceful JS click
-        this.wait.until(ExpectedConditions.elementToBeClickable(arrivalFlight));
-        js.executeScript("arguments[0].click();", arrivalFlight);
-        log.info("Arrival flight class selected via JavaScript");
+        // Both clicks are JS clicks sent in one call; if an option is not clickable yet the pipeline waits for it
+        actions().jsClick(departureFlightClassOptions, randomIndex)
+                .jsClick(arrivalFlightClassOptions, randomIndex)
+                .perform();
+        log.info("Departure and arrival flight classes selected via JavaScript");
     }
 
     @Step("Confirm selected flights")
     public void confirmFlights() {
         log.info("Confirming selected flights...");
-        this.wait.until(ExpectedConditions.elementToBeClickable(this.confirmFlightsButton));
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].click();", confirmFlightsButton);
+        actions().jsClick(this.confirmFlightsButton).perform();
         log.info("Clicked confirm flights button");
     }
 }
@@ -5,7 +5,6 @@ import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,8 +24,8 @@ public class FlightConfirmationPage extends AbstractPage {
 
     @Override
     @Step("Check if Flight Confirmation Page is displayed")
-    public boolean isAt() {
-        this.wait.until(ExpectedConditions.visibilityOf(this.flightConfirmationElement));
+    protected boolean isLoaded() {
+        this.waitFor.visible(this.flightConfirmationElement);
         boolean isDisplayed = this.flightConfirmationElement.isDisplayed();
         log.info("Flight Confirmation Page displayed: {}", isDisplayed);
         return isDisplayed;
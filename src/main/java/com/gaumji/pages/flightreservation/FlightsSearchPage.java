@@ -2,12 +2,9 @@ package com.gaumji.pages.flightreservation;
 
 import com.gaumji.pages.AbstractPage;
 import io.qameta.allure.Step;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.Select;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,8 +24,8 @@ public class FlightsSearchPage extends AbstractPage {
 
     @Override
     @Step("Verify if Flights Search Page is displayed")
-    public boolean isAt() {
-        this.wait.until(ExpectedConditions.visibilityOf(this.passengerSelect));
+    protected boolean isLoaded() {
+        this.waitFor.visible(this.passengerSelect);
         boolean visible = this.passengerSelect.isDisplayed();
         log.info("Flights Search Page isAt check: {}", visible);
         return visible;
@@ -36,16 +33,14 @@ public class FlightsSearchPage extends AbstractPage {
 
     @Step("Selecting number of passengers: {noOfPassenger}")
     public void selectPassengers(String noOfPassenger) {
-        Select passengers = new Select(this.passengerSelect);
-        passengers.selectByValue(noOfPassenger);
+        actions().select(this.passengerSelect, noOfPassenger).perform();
         log.info("Selected {} passengers", noOfPassenger);
     }
 
     @Step("Searching for available flights")
     public void searchForFlights() {
         log.info("Clicking Search Flights button");
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].click();", searchFlightsButton);
+        actions().jsClick(this.searchFlightsButton).perform();
         log.info("Search Flights button clicked");
     }
 }
@@ -5,7 +5,6 @@ import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,8 +24,8 @@ public class RegistrationConfirmationPage extends AbstractPage {
 
     @Override
     @Step("Verifying Registration Confirmation page is loaded")
-    public boolean isAt() {
-        this.wait.until(ExpectedConditions.visibilityOf(this.flightSearchButton));
+    protected boolean isLoaded() {
+        this.waitFor.visible(this.flightSearchButton);
         boolean isVisible = this.flightSearchButton.isDisplayed();
         log.info("Registration Confirmation page visibility: {}", isVisible);
         return isVisible;
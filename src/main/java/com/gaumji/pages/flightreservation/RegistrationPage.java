@@ -2,11 +2,9 @@ package com.gaumji.pages.flightreservation;
 
 import com.gaumji.pages.AbstractPage;
 import io.qameta.allure.Step;
-import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 
 public class RegistrationPage extends AbstractPage {
 
@@ -40,8 +38,8 @@ public class RegistrationPage extends AbstractPage {
 
     @Override
     @Step("Verify registration page is displayed")
-    public boolean isAt() {
-        this.wait.until(ExpectedConditions.visibilityOf(this.firstNameInput));
+    protected boolean isLoaded() {
+        this.waitFor.visible(this.firstNameInput);
         return this.firstNameInput.isDisplayed();
     }
 
@@ -52,26 +50,28 @@ public class RegistrationPage extends AbstractPage {
 
     @Step("Entering user details - First Name: {firstName}, Last Name: {lastName}")
     public void enterUserDetails(String firstName, String lastName){
-        this.firstNameInput.sendKeys(firstName);
-        this.lastNameInput.sendKeys(lastName);
+        actions().type(this.firstNameInput, firstName)
+                .type(this.lastNameInput, lastName)
+                .perform();
     }
 
     @Step("Entering user credentials - Email: {userEmail}, Password: [PROTECTED]")
     public void enterUserCredentials(String userEmail, String userPassword){
-        this.emailInput.sendKeys(userEmail);
-        this.passwordInput.sendKeys(userPassword);
+        actions().type(this.emailInput, userEmail)
+                .type(this.passwordInput, userPassword)
+                .perform();
     }
 
     @Step("Entering address - Street: {street}, City: {city}, Zip: {zip}")
     public void enterUserAddress(String street, String city, String zip){
-        this.streetInput.sendKeys(street);
-        this.cityInput.sendKeys(city);
-        this.zipInput.sendKeys(zip);
+        actions().type(this.streetInput, street)
+                .type(this.cityInput, city)
+                .type(this.zipInput, zip)
+                .perform();
     }
 
     @Step("Clicking on Register button")
     public void register(){
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-        js.executeScript("arguments[0].click();", registerButton);
+        actions().jsClick(this.registerButton).perform();
     }
 }
@@ -1,11 +1,11 @@
 package com.gaumji.pages.vendorportal;
 
 import com.gaumji.pages.AbstractPage;
+import com.gaumji.pages.PageSnapshot;
 import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,8 +46,8 @@ public class DashboardPage extends AbstractPage {
 
     @Override
     @Step("Verifying Dashboard Page is loaded")
-    public boolean isAt() {
-        this.wait.until(ExpectedConditions.visibilityOf(monthlyEarningElement));
+    protected boolean isLoaded() {
+        this.waitFor.visible(this.monthlyEarningElement);
         boolean isDisplayed = this.monthlyEarningElement.isDisplayed();
         log.info("Dashboard loaded: {}", isDisplayed);
         return isDisplayed;
@@ -88,15 +88,29 @@ public class DashboardPage extends AbstractPage {
         return value;
     }
 
+    @Step("Fetching all dashboard metrics")
+    public Metrics getMetrics() {
+        PageSnapshot snapshot = snapshot()
+                .text("monthlyEarning", monthlyEarningElement)
+                .text("annualEarning", annualEarningElement)
+                .text("profitMargin", profitMarginElement)
+                .text("availableInventory", availableInventoryElement)
+                .read();
+        Metrics metrics = new Metrics(snapshot.get("monthlyEarning"), snapshot.get("annualEarning"),
+                snapshot.get("profitMargin"), snapshot.get("availableInventory"));
+        log.info("Dashboard metrics: {}", metrics);
+        return metrics;
+    }
+
     @Step("Searching Order History with keyword: {searchKeyword}")
     public void searchOrderHistory(String searchKeyword) {
         log.info("Searching for keyword: {}", searchKeyword);
-        this.searchInput.sendKeys(searchKeyword);
+        actions().type(this.searchInput, searchKeyword).perform();
     }
 
     @Step("Extracting actual result count from text")
     public int getResultsCount() {
-        String resultsCountText = this.searchResultsCountElement.getText();
+        String resultsCountText = snapshot().text("resultsCount", searchResultsCountElement).read().get("resultsCount");
         String[] arr = resultsCountText.split(" ");
         int count = Integer.parseInt(arr[5]);
         log.info("Parsed Results Count: {}", count);
@@ -106,9 +120,16 @@ public class DashboardPage extends AbstractPage {
     @Step("Logging out from Dashboard")
     public void logout() {
         log.info("Logging out...");
-        this.profilePictureElement.click();
-        this.logoutLink.click();
-        this.wait.until(ExpectedConditions.visibilityOf(modalLogoutButton));
-        this.modalLogoutButton.click();
+        actions().click(this.profilePictureElement)
+                .click(this.logoutLink)
+                .perform();
+        this.waitFor.visible(this.modalLogoutButton);
+        actions().click(this.modalLogoutButton).perform();
+    }
+
+    public record Metrics(String monthlyEarning,
+                          String annualEarning,
+                          String profitMargin,
+                          String availableInventory) {
     }
 }
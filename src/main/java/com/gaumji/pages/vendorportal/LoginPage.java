@@ -5,7 +5,6 @@ import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,8 +27,8 @@ public class LoginPage extends AbstractPage {
 
     @Override
     @Step("Verifying Login Page is loaded")
-    public boolean isAt() {
-        this.wait.until(ExpectedConditions.visibilityOf(userNameInput));
+    protected boolean isLoaded() {
+        this.waitFor.visible(this.userNameInput);
         boolean isDisplayed = this.loginButton.isDisplayed();
         log.info("Login page loaded: {}", isDisplayed);
         return isDisplayed;
@@ -44,8 +43,9 @@ public class LoginPage extends AbstractPage {
     @Step("Logging in with Username: {username}")
     public void login(String username, String password) {
         log.info("Filling in credentials and clicking login");
-        this.userNameInput.sendKeys(username);
-        this.passwordInput.sendKeys(password);
-        this.loginButton.click();
+        actions().type(this.userNameInput, username)
+                .type(this.passwordInput, password)
+                .click(this.loginButton)
+                .perform();
     }
 }
@@ -0,0 +1,258 @@
+package com.gaumji.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/*
+Network layer of the Chromium sessions (DevTools Fetch interception).
+Requests matching network.block (analytics, web fonts...) are answered with an empty 204 without leaving the browser,
+static assets (css, js, fonts, images) are kept in a cache shared by all sessions of the JVM and served from there
+the next time any session asks for them, so fresh browser profiles don't download the same files again.
+Firefox sessions and replayed runs are left alone.
+ */
+public class AssetInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetInterceptor.class);
+
+    private static final Set<String> STATIC_EXTENSIONS = Set.of(
+            "css", "js", "mjs", "woff", "woff2", "ttf", "otf", "eot", "png", "jpg", "jpeg", "gif", "svg", "ico", "webp");
+
+    // DevTools hands over the decoded body, the original encoding and length no longer apply
+    private static final Set<String> BODY_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private static final Map<String, CachedAsset> cache = new ConcurrentHashMap<>();
+    private static final AtomicLong cachedBytes = new AtomicLong();
+    private static final Map<WebDriver, Savings.Counters> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, Savings> perTest = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+    private static volatile List<Pattern> blocked = List.of();
+    private static volatile long maxCacheBytes;
+    private static volatile boolean warnedNoDevTools;
+
+    // patterns use * as wildcard and match the whole url, e.g. *://fonts.gstatic.com/*
+    public static void configure(boolean interceptEnabled, List<String> blockPatterns, long cacheLimitBytes) {
+        enabled = interceptEnabled;
+        blocked = blockPatterns.stream().map(AssetInterceptor::toRegex).toList();
+        maxCacheBytes = cacheLimitBytes;
+        log.info("🛡️ Network interception enabled: {}, {} blocked pattern(s), asset cache up to {} MB",
+                enabled, blocked.size(), cacheLimitBytes / (1024 * 1024));
+    }
+
+    // Call with the driver as created, before any decorating; remote drivers come back augmented with DevTools
+    public static WebDriver attach(WebDriver driver, String browser) {
+        if (!enabled || WireTransport.isReplay() || !DriverBackend.of(browser).isChromium()) {
+            return driver;
+        }
+        WebDriver target = driver instanceof RemoteWebDriver && !(driver instanceof HasDevTools)
+                ? new Augmenter().augment(driver)
+                : driver;
+        if (!(target instanceof HasDevTools)) {
+            if (!warnedNoDevTools) {
+                warnedNoDevTools = true;
+                log.warn("⚠️ {} sessions expose no DevTools endpoint (se:cdp), network interception is off", browser);
+            }
+            return driver;
+        }
+        try {
+            Savings.Counters counters = new Savings.Counters();
+            // the interceptor lives as long as the session, its DevTools connection closes on quit
+            new NetworkInterceptor(target, filter(counters));
+            sessions.put(target, counters);
+            return target;
+        } catch (WebDriverException e) {
+            log.warn("⚠️ Unable to intercept network traffic of the {} session: {}", browser, e.getMessage());
+            return driver;
+        }
+    }
+
+    // A pooled session serves one test at a time: savings are counted from begin to end of its lease
+    public static void begin(WebDriver driver) {
+        Savings.Counters counters = countersOf(driver);
+        if (counters != null) {
+            counters.baseline = counters.snapshot();
+        }
+    }
+
+    public static void end(String test, WebDriver driver) {
+        Savings.Counters counters = countersOf(driver);
+        if (counters == null) {
+            return;
+        }
+        Savings savings = counters.snapshot().minus(counters.baseline);
+        if (savings.requests() > 0) {
+            perTest.merge(test, savings, Savings::plus);
+            log.info("🛡️ Network savings for '{}': {}", test, savings);
+        }
+    }
+
+    // Savings of the suite so far, the next suite of the JVM starts from zero
+    public static Map<String, Savings> report() {
+        Map<String, Savings> report = new TreeMap<>(perTest);
+        perTest.clear();
+        return report;
+    }
+
+    // the pool hands out decorated drivers, the interceptor knows the one it was attached to
+    private static Savings.Counters countersOf(WebDriver driver) {
+        WebDriver current = driver;
+        while (current != null) {
+            Savings.Counters counters = sessions.get(current);
+            if (counters != null) {
+                return counters;
+            }
+            current = current instanceof WrapsDriver wrapper ? wrapper.getWrappedDriver() : null;
+        }
+        return null;
+    }
+
+    private static Filter filter(Savings.Counters counters) {
+        return next -> request -> {
+            String url = request.getUri();
+            for (Pattern pattern : blocked) {
+                if (pattern.matcher(url).matches()) {
+                    counters.blocked.increment();
+                    return new HttpResponse().setStatus(204);
+                }
+            }
+            // documents and xhr go on untouched, pausing them for their body would slow every page down
+            if (request.getMethod() != HttpMethod.GET || !isStaticAsset(url)) {
+                return NetworkInterceptor.PROCEED_WITH_REQUEST;
+            }
+            CachedAsset asset = cache.get(url);
+            if (asset != null) {
+                counters.cached.increment();
+                counters.cachedBytes.add(asset.body.length);
+                return asset.toResponse();
+            }
+            if (cachedBytes.get() >= maxCacheBytes) {
+                return NetworkInterceptor.PROCEED_WITH_REQUEST;
+            }
+            HttpResponse response = next.execute(request);
+            store(url, response);
+            return response;
+        };
+    }
+
+    private static void store(String url, HttpResponse response) {
+        if (response.getStatus() != 200 || !isShareable(response)) {
+            return;
+        }
+        byte[] body = Contents.bytes(response.getContent());
+        // the stream was read, hand the browser the same bytes
+        response.setContent(Contents.bytes(body));
+        BODY_HEADERS.forEach(response::removeHeader);
+        if (cachedBytes.get() + body.length > maxCacheBytes) {
+            return;
+        }
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        response.forEachHeader((name, value) -> {
+            String lowerCase = name.toLowerCase(Locale.ROOT);
+            // cookies belong to the session that got the response, never replay them into another one
+            if (!BODY_HEADERS.contains(lowerCase) && !lowerCase.equals("set-cookie")) {
+                headers.put(name, value);
+            }
+        });
+        if (cache.putIfAbsent(url, new CachedAsset(headers, body)) == null) {
+            cachedBytes.addAndGet(body.length);
+        }
+    }
+
+    // The cache is shared by all sessions and keyed by url only, so it holds what a shared HTTP cache may hold
+    private static boolean isShareable(HttpResponse response) {
+        String cacheControl = String.valueOf(response.getHeader("Cache-Control")).toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache") || cacheControl.contains("private")) {
+            return false;
+        }
+        // the body handed over is decoded, so only Accept-Encoding may vary
+        String vary = response.getHeader("Vary");
+        return vary == null || Arrays.stream(vary.split(","))
+                .map(header -> header.trim().toLowerCase(Locale.ROOT))
+                .allMatch(header -> header.isEmpty() || header.equals("accept-encoding"));
+    }
+
+    private static boolean isStaticAsset(String url) {
+        String path = url.replaceFirst("[?#].*$", "");
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && STATIC_EXTENSIONS.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static Pattern toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.trim().split("\\*", -1)) {
+            if (!regex.isEmpty()) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private record CachedAsset(Map<String, String> headers, byte[] body) {
+
+        HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(200);
+            headers.forEach(response::setHeader);
+            return response.setContent(Contents.bytes(body));
+        }
+    }
+
+    // requests = blocked + served from the cache
+    public record Savings(long blocked, long cached, long cachedBytes) {
+
+        static final Savings NONE = new Savings(0, 0, 0);
+
+        public long requests() {
+            return blocked + cached;
+        }
+
+        Savings minus(Savings other) {
+            return new Savings(blocked - other.blocked, cached - other.cached, cachedBytes - other.cachedBytes);
+        }
+
+        Savings plus(Savings other) {
+            return new Savings(blocked + other.blocked, cached + other.cached, cachedBytes + other.cachedBytes);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d request(s) blocked, %d served from cache (%d KB)", blocked, cached, cachedBytes / 1024);
+        }
+
+        static final class Counters {
+            private final LongAdder blocked = new LongAdder();
+            private final LongAdder cached = new LongAdder();
+            private final LongAdder cachedBytes = new LongAdder();
+            private volatile Savings baseline = NONE;
+
+            Savings snapshot() {
+                return new Savings(blocked.sum(), cached.sum(), cachedBytes.sum());
+            }
+        }
+    }
+}
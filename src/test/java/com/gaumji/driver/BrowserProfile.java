@@ -0,0 +1,135 @@
+package com.gaumji.driver;
+
+import org.htmlunit.BrowserVersion;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxDriverLogLevel;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.htmlunit.options.HtmlUnitDriverOptions;
+import org.openqa.selenium.htmlunit.options.HtmlUnitOption;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.CapabilityType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+/*
+Named browser setups, picked with browser.profile or a browserProfile parameter on the <suite> / <test>.
+fast-functional - headless, eager page load, no images, no background traffic, quiet logs: the cheapest browser that still runs the flows
+realistic       - a normal headed browser as users have it
+debug           - headed with full page loads and verbose browser logs
+The window size is passed as a launch argument in all of them, there is no resize call after the session starts.
+ */
+public enum BrowserProfile {
+
+    FAST_FUNCTIONAL("fast-functional", true, PageLoadStrategy.EAGER, false, true),
+    REALISTIC("realistic", false, PageLoadStrategy.NORMAL, true, false),
+    DEBUG("debug", false, PageLoadStrategy.NORMAL, true, false);
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+
+    // updates, sync, safe browsing and the like, requests the tests never wait for
+    private static final List<String> CHROME_QUIET_ARGS = List.of(
+            "--disable-background-networking", "--disable-component-update", "--disable-default-apps",
+            "--disable-extensions", "--disable-sync", "--no-first-run", "--mute-audio", "--log-level=3", "--silent");
+
+    private static final Map<String, Object> FIREFOX_QUIET_PREFS = Map.of(
+            "app.update.auto", false,
+            "browser.safebrowsing.malware.enabled", false,
+            "browser.safebrowsing.phishing.enabled", false,
+            "browser.shell.checkDefaultBrowser", false,
+            "datareporting.policy.dataSubmissionEnabled", false,
+            "extensions.update.enabled", false,
+            "network.prefetch-next", false,
+            "toolkit.telemetry.enabled", false);
+
+    private final String profileName;
+    private final boolean headless;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final boolean images;
+    private final boolean quiet;
+
+    BrowserProfile(String profileName, boolean headless, PageLoadStrategy pageLoadStrategy, boolean images, boolean quiet) {
+        this.profileName = profileName;
+        this.headless = headless;
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.images = images;
+        this.quiet = quiet;
+    }
+
+    public static BrowserProfile of(String name) {
+        return Arrays.stream(values())
+                .filter(profile -> profile.profileName.equalsIgnoreCase(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("expected one of "
+                        + Arrays.stream(values()).map(BrowserProfile::toString).toList()));
+    }
+
+    public Capabilities capabilities(String browser) {
+        return DriverBackend.of(browser).capabilities(this);
+    }
+
+    // Chrome and Edge take the same arguments, only the name of the logging capability differs
+    <T extends ChromiumOptions<T>> T chromiumOptions(T options, String loggingPrefsCapability) {
+        options.setPageLoadStrategy(pageLoadStrategy);
+        options.addArguments("--window-size=" + WIDTH + "," + HEIGHT);
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (!images) {
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        if (quiet) {
+            options.addArguments(CHROME_QUIET_ARGS);
+        }
+        if (this == DEBUG) {
+            // browser console and performance entries can be read from the session logs
+            LoggingPreferences logs = new LoggingPreferences();
+            logs.enable(LogType.BROWSER, Level.ALL);
+            logs.enable(LogType.PERFORMANCE, Level.ALL);
+            options.setCapability(loggingPrefsCapability, logs);
+        }
+        return options;
+    }
+
+    FirefoxOptions firefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        options.addArguments("--width=" + WIDTH, "--height=" + HEIGHT);
+        if (headless) {
+            options.addArguments("-headless");
+        }
+        if (!images) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        if (quiet) {
+            FIREFOX_QUIET_PREFS.forEach(options::addPreference);
+            options.setLogLevel(FirefoxDriverLogLevel.FATAL);
+        } else if (this == DEBUG) {
+            options.setLogLevel(FirefoxDriverLogLevel.DEBUG);
+        }
+        return options;
+    }
+
+    // htmlunit has no window or images to speak of, the profile only picks the page load strategy
+    HtmlUnitDriverOptions htmlUnitOptions() {
+        HtmlUnitDriverOptions options = new HtmlUnitDriverOptions(BrowserVersion.BEST_SUPPORTED);
+        // HtmlUnitDriver reads the strategy back as a plain string
+        options.setCapability(CapabilityType.PAGE_LOAD_STRATEGY, pageLoadStrategy.toString());
+        options.setJavaScriptEnabled(true);
+        options.setDownloadImages(false);
+        // third party scripts the real browsers shrug off must not fail the page
+        options.setCapability(HtmlUnitOption.THROW_EXCEPTION_ON_SCRIPT_ERROR.getCapabilityKey(), false);
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return profileName;
+    }
+}
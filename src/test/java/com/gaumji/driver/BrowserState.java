@@ -0,0 +1,62 @@
+package com.gaumji.driver;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Set;
+
+/*
+What a session needs to be put back where it was: the current page, its cookies and its local / session storage.
+Captured with three commands; restoring loads the page, sets cookies and storage and loads the page again.
+ */
+public record BrowserState(String url, Set<Cookie> cookies,
+                           Map<String, String> localStorage, Map<String, String> sessionStorage) {
+
+    private static final String READ_STORAGE_SCRIPT = """
+            function copy(storage) {
+                var values = {};
+                for (var i = 0; i < storage.length; i++) {
+                    values[storage.key(i)] = storage.getItem(storage.key(i));
+                }
+                return values;
+            }
+            return { local: copy(window.localStorage), session: copy(window.sessionStorage) };
+            """;
+
+    private static final String WRITE_STORAGE_SCRIPT = """
+            var local = arguments[0], session = arguments[1];
+            Object.keys(local).forEach(function (key) { window.localStorage.setItem(key, local[key]); });
+            Object.keys(session).forEach(function (key) { window.sessionStorage.setItem(key, session[key]); });
+            """;
+
+    public static BrowserState capture(WebDriver driver) {
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, String>> storage = (Map<String, Map<String, String>>)
+                ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        return new BrowserState(driver.getCurrentUrl(), Set.copyOf(driver.manage().getCookies()),
+                Map.copyOf(storage.get("local")), Map.copyOf(storage.get("session")));
+    }
+
+    // Puts the state into the session and leaves it on the captured page
+    public void restore(WebDriver driver) {
+        // cookies and storage can only be set for the origin that is loaded
+        driver.get(url);
+        cookies.forEach(driver.manage()::addCookie);
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage, sessionStorage);
+        driver.get(url);
+    }
+
+    public static void clear(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d cookie(s), %d local / %d session storage item(s))",
+                url, cookies.size(), localStorage.size(), sessionStorage.size());
+    }
+}
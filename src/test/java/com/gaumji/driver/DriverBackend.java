@@ -0,0 +1,113 @@
+package com.gaumji.driver;
+
+import com.gaumji.util.Constants;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.htmlunit.options.HtmlUnitDriverOptions;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/*
+What a session runs in, picked with browser=chrome | firefox | edge | htmlunit.
+The real browsers start locally through WebDriverManager or on the grid.
+htmlunit runs inside the JVM: no browser process and no grid, a session starts in milliseconds and costs a few MB,
+enough for quick smoke runs of the flows. It has no layout engine or screenshots, so pages that need
+a real browser say so with @RequiresRealBrowser and their tests are skipped on it.
+ */
+public enum DriverBackend {
+
+    CHROME(Constants.CHROME, true) {
+        @Override
+        Capabilities capabilities(BrowserProfile profile) {
+            return profile.chromiumOptions(new ChromeOptions(), ChromeOptions.LOGGING_PREFS);
+        }
+
+        @Override
+        public WebDriver startLocal(Capabilities capabilities) {
+            WebDriverManager.chromedriver().setup();
+            return new ChromeDriver((ChromeOptions) capabilities);
+        }
+    },
+    FIREFOX(Constants.FIREFOX, true) {
+        @Override
+        Capabilities capabilities(BrowserProfile profile) {
+            return profile.firefoxOptions();
+        }
+
+        @Override
+        public WebDriver startLocal(Capabilities capabilities) {
+            WebDriverManager.firefoxdriver().setup();
+            return new FirefoxDriver((FirefoxOptions) capabilities);
+        }
+    },
+    EDGE(Constants.EDGE, true) {
+        @Override
+        Capabilities capabilities(BrowserProfile profile) {
+            return profile.chromiumOptions(new EdgeOptions(), EdgeOptions.LOGGING_PREFS);
+        }
+
+        @Override
+        public WebDriver startLocal(Capabilities capabilities) {
+            WebDriverManager.edgedriver().setup();
+            return new EdgeDriver((EdgeOptions) capabilities);
+        }
+    },
+    HTMLUNIT(Constants.HTMLUNIT, false) {
+        @Override
+        Capabilities capabilities(BrowserProfile profile) {
+            return profile.htmlUnitOptions();
+        }
+
+        @Override
+        public WebDriver startLocal(Capabilities capabilities) {
+            HtmlUnitDriver driver = new HtmlUnitDriver((HtmlUnitDriverOptions) capabilities);
+            // starts without a script timeout, the in-browser waits need the W3C default
+            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
+            return driver;
+        }
+    };
+
+    private final String browserName;
+    private final boolean realBrowser;
+
+    DriverBackend(String browserName, boolean realBrowser) {
+        this.browserName = browserName;
+        this.realBrowser = realBrowser;
+    }
+
+    public static DriverBackend of(String browser) {
+        return Arrays.stream(values())
+                .filter(backend -> backend.browserName.equalsIgnoreCase(browser.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("expected one of "
+                        + Arrays.stream(values()).map(DriverBackend::toString).toList()));
+    }
+
+    abstract Capabilities capabilities(BrowserProfile profile);
+
+    // Starts a session on this machine
+    public abstract WebDriver startLocal(Capabilities capabilities);
+
+    // a browser process that can also run on the grid and has DevTools / screenshots, htmlunit is neither
+    public boolean isRealBrowser() {
+        return realBrowser;
+    }
+
+    public boolean isChromium() {
+        return this == CHROME || this == EDGE;
+    }
+
+    @Override
+    public String toString() {
+        return browserName;
+    }
+}
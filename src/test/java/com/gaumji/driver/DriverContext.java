@@ -0,0 +1,36 @@
+package com.gaumji.driver;
+
+import com.gaumji.util.Constants;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+/*
+Holds the browser session of the flow running on the current thread.
+If the test method runs on a different thread than its @BeforeTest (e.g. parallel="methods"),
+we fall back to the session stored on the TestNG context of the current test.
+ */
+public class DriverContext {
+
+    private static final ThreadLocal<WebDriver> current = new ThreadLocal<>();
+
+    public static void set(WebDriver driver) {
+        current.set(driver);
+    }
+
+    public static WebDriver get() {
+        WebDriver driver = current.get();
+        if (driver != null) {
+            return driver;
+        }
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null || result.getTestContext() == null) {
+            return null;
+        }
+        return (WebDriver) result.getTestContext().getAttribute(Constants.DRIVER);
+    }
+
+    public static void remove() {
+        current.remove();
+    }
+}
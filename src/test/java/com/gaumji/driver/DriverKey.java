@@ -0,0 +1,21 @@
+package com.gaumji.driver;
+
+import org.openqa.selenium.Capabilities;
+
+import java.util.Map;
+
+/*
+Identifies a kind of browser session in the pool.
+Two sessions are interchangeable only if browser, mode and requested capabilities all match.
+ */
+public record DriverKey(String browser, boolean remote, Map<String, Object> capabilities) {
+
+    public static DriverKey of(String browser, boolean remote, Capabilities capabilities) {
+        return new DriverKey(browser.toLowerCase(), remote, Map.copyOf(capabilities.asMap()));
+    }
+
+    @Override
+    public String toString() {
+        return browser + (remote ? "@grid" : "@local");
+    }
+}
@@ -0,0 +1,276 @@
+package com.gaumji.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+A JVM wide pool of browser sessions.
+Sessions are handed out per TestNG <test>, cleaned (cookies, storage, about:blank) when they come back
+and only quit when they break or reach the configured number of uses.
+ */
+public class DriverPool {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+
+    // an idle session older than this gets a liveness check before it is handed out again
+    private static final Duration IDLE_CHECK_AFTER = Duration.ofSeconds(60);
+    // how long shutdown waits for pre-warmed sessions that are still starting, the prewarm threads don't keep the JVM alive
+    private static final Duration WARMING_SHUTDOWN_WAIT = Duration.ofSeconds(60);
+
+    private static final Map<DriverKey, Deque<PooledDriver>> idle = new ConcurrentHashMap<>();
+    private static final Map<DriverKey, Queue<CompletableFuture<PooledDriver>>> warming = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledDriver> leased = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    // hits = sessions used again after a release, pre-warmed sessions are counted on their own
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder prewarmed = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder recycles = new LongAdder();
+    private static final LongAdder acquisitions = new LongAdder();
+    private static final LongAdder acquireNanos = new LongAdder();
+
+    private static volatile boolean enabled = true;
+    private static volatile int maxUses = 10;
+
+    public static void configure(boolean poolEnabled, int maxUsesPerSession) {
+        enabled = poolEnabled;
+        maxUses = Math.max(1, maxUsesPerSession);
+        log.info("🏊 Driver pool enabled: {}, max uses per session: {}", enabled, maxUses);
+    }
+
+    // Starts the sessions in the background; acquire() picks them up (waiting if they are still starting)
+    public static void prewarm(DriverKey key, int count, Supplier<WebDriver> factory) {
+        if (!enabled || count <= 0) {
+            return;
+        }
+        log.info("🔥 Pre-warming {} {} session(s) in the background", count, key);
+        ExecutorService executor = Executors.newFixedThreadPool(count, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Queue<CompletableFuture<PooledDriver>> queue = warming.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>());
+        for (int i = 0; i < count; i++) {
+            queue.offer(CompletableFuture.supplyAsync(() -> new PooledDriver(key, factory.get()), executor));
+        }
+        executor.shutdown();
+    }
+
+    public static WebDriver acquire(DriverKey key, Supplier<WebDriver> factory) {
+        long start = System.nanoTime();
+        try {
+            PooledDriver pooled = enabled ? takeIdle(key) : null;
+            if (pooled != null) {
+                hits.increment();
+                log.info("♻️ Reusing warm {} session (use {} of {})", key, pooled.uses + 1, maxUses);
+            } else if (enabled && (pooled = takeWarming(key)) != null) {
+                prewarmed.increment();
+                log.info("🔥 Taking pre-warmed {} session", key);
+            } else {
+                misses.increment();
+                log.info("🆕 No warm {} session available, creating a new one", key);
+                pooled = new PooledDriver(key, factory.get());
+            }
+            pooled.uses++;
+            leased.put(pooled.driver, pooled);
+            return pooled.driver;
+        } finally {
+            acquisitions.increment();
+            acquireNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public static void release(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled == null) {
+            // not handed out by the pool, nothing to keep
+            driver.quit();
+            return;
+        }
+        if (!enabled || pooled.uses >= maxUses) {
+            recycle(pooled, enabled ? "reached " + maxUses + " uses" : "pool disabled");
+            return;
+        }
+        try {
+            reset(pooled.driver);
+        } catch (WebDriverException | UnsupportedOperationException e) {
+            // htmlunit refuses scripts with UnsupportedOperationException when the last page wasn't html
+            log.warn("⚠️ Unable to reset {} session, it will be recycled: {}", pooled.key, e.getMessage());
+            recycle(pooled, "reset failed");
+            return;
+        }
+        pooled.idleSince = System.nanoTime();
+        idle.computeIfAbsent(pooled.key, k -> new ConcurrentLinkedDeque<>()).offerFirst(pooled);
+    }
+
+    // Used when a test knows the session is unusable (crashed browser, lost grid node...)
+    public static void invalidate(WebDriver driver) {
+        PooledDriver pooled = leased.remove(driver);
+        if (pooled != null) {
+            recycle(pooled, "invalidated");
+        } else {
+            quietlyQuit(driver);
+        }
+    }
+
+    // counts since the last call, the pool outlives the suite but every suite reports its own use of it
+    public static PoolStats stats() {
+        long count = acquisitions.sumThenReset();
+        long nanos = acquireNanos.sumThenReset();
+        Duration avg = count == 0 ? Duration.ZERO : Duration.ofNanos(nanos / count);
+        return new PoolStats(hits.sumThenReset(), prewarmed.sumThenReset(), misses.sumThenReset(), recycles.sumThenReset(),
+                Duration.ofNanos(nanos), avg);
+    }
+
+    public static void shutdown() {
+        List<PooledDriver> toQuit = new ArrayList<>();
+        idle.values().forEach(deque -> {
+            PooledDriver pooled;
+            while ((pooled = deque.pollFirst()) != null) {
+                toQuit.add(pooled);
+            }
+        });
+        synchronized (leased) {
+            toQuit.addAll(leased.values());
+            leased.clear();
+        }
+        List<CompletableFuture<PooledDriver>> starting = new ArrayList<>();
+        warming.values().forEach(queue -> {
+            CompletableFuture<PooledDriver> future;
+            while ((future = queue.poll()) != null) {
+                starting.add(future);
+            }
+        });
+        log.info("🧹 Shutting down driver pool, quitting {} session(s), {} still starting.", toQuit.size(), starting.size());
+        toQuit.forEach(pooled -> quietlyQuit(pooled.driver));
+        awaitStarting(starting);
+    }
+
+    // Quits the sessions that come up in time; the JVM may exit right after, so nothing is left to a callback
+    private static void awaitStarting(List<CompletableFuture<PooledDriver>> starting) {
+        long deadline = System.nanoTime() + WARMING_SHUTDOWN_WAIT.toNanos();
+        for (CompletableFuture<PooledDriver> future : starting) {
+            try {
+                PooledDriver pooled = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                quietlyQuit(pooled.driver);
+            } catch (TimeoutException e) {
+                // best effort, the session is quit if it still comes up before the JVM exits
+                future.thenAccept(pooled -> quietlyQuit(pooled.driver));
+                log.warn("⚠️ Pre-warmed session did not start within {}s, it may be left running", WARMING_SHUTDOWN_WAIT.toSeconds());
+            } catch (ExecutionException e) {
+                log.warn("⚠️ Pre-warmed session failed to start: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.thenAccept(pooled -> quietlyQuit(pooled.driver));
+                return;
+            }
+        }
+    }
+
+    private static PooledDriver takeIdle(DriverKey key) {
+        Deque<PooledDriver> deque = idle.get(key);
+        if (deque == null) {
+            return null;
+        }
+        PooledDriver pooled;
+        while ((pooled = deque.pollFirst()) != null) {
+            if (isAlive(pooled)) {
+                return pooled;
+            }
+            recycle(pooled, "found dead while idle");
+        }
+        return null;
+    }
+
+    private static PooledDriver takeWarming(DriverKey key) {
+        Queue<CompletableFuture<PooledDriver>> queue = warming.get(key);
+        if (queue == null) {
+            return null;
+        }
+        CompletableFuture<PooledDriver> future;
+        while ((future = queue.poll()) != null) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                log.warn("⚠️ Pre-warmed {} session failed to start: {}", key, e.getCause().getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAlive(PooledDriver pooled) {
+        if (System.nanoTime() - pooled.idleSince < IDLE_CHECK_AFTER.toNanos()) {
+            return true;
+        }
+        try {
+            pooled.driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void reset(WebDriver driver) {
+        // cookies and storage are scoped to the current origin, so clear them before leaving the app page
+        BrowserState.clear(driver);
+        driver.get("about:blank");
+    }
+
+    private static void recycle(PooledDriver pooled, String reason) {
+        recycles.increment();
+        log.info("🔁 Recycling {} session after {} use(s): {}", pooled.key, pooled.uses, reason);
+        quietlyQuit(pooled.driver);
+    }
+
+    private static void quietlyQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            log.warn("⚠️ Error while quitting browser session: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledDriver {
+        private final DriverKey key;
+        private final WebDriver driver;
+        private int uses;
+        private long idleSince = System.nanoTime();
+
+        private PooledDriver(DriverKey key, WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+    }
+
+    public record PoolStats(long hits, long prewarmed, long misses, long recycles, Duration totalAcquireTime, Duration averageAcquireTime) {
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, prewarmed=%d, misses=%d, recycles=%d, totalAcquireTime=%dms, averageAcquireTime=%dms",
+                    hits, prewarmed, misses, recycles, totalAcquireTime.toMillis(), averageAcquireTime.toMillis());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.gaumji.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+Queues remote session requests on our side until the grid has a free slot for the browser.
+Free slots are read from the hub's /status (per node: UP, matching stereotype, below maxSessions),
+minus the sessions this JVM is already starting. Waiting threads back off exponentially up to a deadline,
+so THREAD_COUNT can be set higher than the grid and the number of running flows follows the free slots.
+If /status can't be read we don't hold anyone back and let the grid answer as before.
+ */
+public class GridScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(GridScheduler.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(250);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+    // waiting threads share one /status answer for this long
+    private static final Duration STATUS_MAX_AGE = Duration.ofMillis(250);
+
+    private static final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    // lock guards the slot bookkeeping only; /status is fetched under statusLock, which doesn't pin virtual threads
+    private static final Object lock = new Object();
+    private static final ReentrantLock statusLock = new ReentrantLock();
+    private static final Map<String, Integer> starting = new HashMap<>();
+
+    private static final LongAdder requests = new LongAdder();
+    private static final LongAdder queued = new LongAdder();
+    private static final LongAdder waitNanos = new LongAdder();
+    private static final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+    private static volatile boolean enabled = true;
+    private static volatile Duration queueTimeout = Duration.ofMinutes(15);
+    private static volatile Status status;
+    // bumped whenever a started session takes its slot, answers read before that can't hand out slots any more
+    private static volatile long generation;
+    private static boolean warnedUnreachable;
+
+    public static void configure(boolean schedulerEnabled, Duration timeout) {
+        enabled = schedulerEnabled;
+        queueTimeout = timeout;
+        log.info("🚦 Grid slot scheduler enabled: {}, queue timeout: {}s", enabled, timeout.toSeconds());
+    }
+
+    // Waits for a free slot of the browser, then starts the session on it
+    public static <T> T withSlot(String gridUrl, String browserName, Supplier<T> startSession) {
+        if (!enabled) {
+            return startSession.get();
+        }
+        requests.increment();
+        long start = System.nanoTime();
+        int backoffs = reserve(gridUrl, browserName, start);
+        long waited = System.nanoTime() - start;
+        waitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+        if (backoffs > 0) {
+            queued.increment();
+            log.info("⏳ Waited {} ms in the queue for a free {} slot", Duration.ofNanos(waited).toMillis(), browserName);
+        }
+        try {
+            return startSession.get();
+        } finally {
+            if (backoffs >= 0) {
+                release(browserName);
+            }
+        }
+    }
+
+    public static QueueStats stats() {
+        long count = requests.sum();
+        return new QueueStats(count, queued.sum(),
+                Duration.ofNanos(waitNanos.sum()).toMillis(),
+                count == 0 ? 0 : Duration.ofNanos(waitNanos.sum() / count).toMillis(),
+                Duration.ofNanos(maxWaitNanos.get()).toMillis());
+    }
+
+    // Number of times the request backed off before it got a slot, -1 when the grid can't tell us its slots
+    private static int reserve(String gridUrl, String browserName, long start) {
+        long deadline = start + queueTimeout.toNanos();
+        Duration backoff = INITIAL_BACKOFF;
+        for (int backoffs = 0; ; backoffs++) {
+            Boolean reserved;
+            do {
+                Status current = readStatus(gridUrl);
+                if (current == null) {
+                    return -1;
+                }
+                reserved = tryReserve(current, browserName);
+            } while (reserved == null);
+            if (reserved) {
+                return backoffs;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new SessionNotCreatedException(String.format("No free %s slot on the grid within %d seconds",
+                        browserName, queueTimeout.toSeconds()));
+            }
+            // jitter, so threads that queued together don't all ask again at the same moment
+            long sleepMillis = (long) (backoff.toMillis() * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+            sleepMillis = Math.min(sleepMillis, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())).toMillis() + 1);
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SessionNotCreatedException("Interrupted while waiting for a free " + browserName + " slot");
+            }
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        }
+    }
+
+    // null when a session took its slot since the answer was read, the caller reads /status again
+    private static Boolean tryReserve(Status current, String browserName) {
+        synchronized (lock) {
+            if (current.generation() != generation) {
+                return null;
+            }
+            int free = freeSlots(current.value(), browserName) - starting.getOrDefault(browserName, 0);
+            if (free <= 0) {
+                return false;
+            }
+            starting.merge(browserName, 1, Integer::sum);
+            return true;
+        }
+    }
+
+    private static void release(String browserName) {
+        synchronized (lock) {
+            starting.merge(browserName, -1, Integer::sum);
+            // the new session now shows up as busy in /status, don't hand out its slot from the old answer
+            generation++;
+        }
+    }
+
+    private static boolean isFresh(Status current) {
+        return current != null && current.generation() == generation
+                && System.nanoTime() - current.readAt() < STATUS_MAX_AGE.toNanos();
+    }
+
+    // Waiting threads share one answer: the first one to find it outdated reads /status, the others wait for it
+    private static Status readStatus(String gridUrl) {
+        Status current = status;
+        if (isFresh(current)) {
+            return current;
+        }
+        statusLock.lock();
+        try {
+            current = status;
+            if (isFresh(current)) {
+                return current;
+            }
+            long readGeneration = generation;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(gridUrl.replaceAll("/+$", "") + "/status"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            status = new Status(mapper.readTree(response.body()).path("value"), System.nanoTime(), readGeneration);
+            return status;
+        } catch (IOException | IllegalArgumentException e) {
+            if (!warnedUnreachable) {
+                warnedUnreachable = true;
+                log.warn("⚠️ Unable to read grid status from {}, session requests are not queued: {}", gridUrl, e.toString());
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            statusLock.unlock();
+        }
+    }
+
+    static int freeSlots(JsonNode status, String browserName) {
+        int free = 0;
+        for (JsonNode node : status.path("nodes")) {
+            if (!"UP".equalsIgnoreCase(node.path("availability").asText())) {
+                continue;
+            }
+            int busy = 0;
+            int freeForBrowser = 0;
+            for (JsonNode slot : node.path("slots")) {
+                boolean inUse = !slot.path("session").isMissingNode() && !slot.path("session").isNull();
+                if (inUse) {
+                    busy++;
+                } else if (browserName.equalsIgnoreCase(slot.path("stereotype").path("browserName").asText())) {
+                    freeForBrowser++;
+                }
+            }
+            // a node can have more slots than it runs sessions at once
+            int maxSessions = node.path("maxSessions").asInt(Integer.MAX_VALUE);
+            free += Math.max(0, Math.min(freeForBrowser, maxSessions - busy));
+        }
+        return free;
+    }
+
+    private record Status(JsonNode value, long readAt, long generation) {
+    }
+
+    // wait times in milliseconds; queued = requests that had to wait for a slot
+    public record QueueStats(long requests, long queued, long totalWaitMs, long avgWaitMs, long maxWaitMs) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.gaumji.driver;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/*
+Passes every request on to the real client and hands the exchange, with its latency, to the recorder.
+ */
+class RecordingHttpClient implements HttpClient {
+
+    private final HttpClient delegate;
+    private final Consumer<WireExchange> recorder;
+
+    RecordingHttpClient(HttpClient delegate, Consumer<WireExchange> recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) {
+        // bodies are read once here, so put them back for whoever reads them next
+        byte[] requestBody = Contents.bytes(request.getContent());
+        request.setContent(Contents.bytes(requestBody));
+
+        long start = System.nanoTime();
+        HttpResponse response = delegate.execute(request);
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        byte[] responseBody = Contents.bytes(response.getContent());
+        response.setContent(Contents.bytes(responseBody));
+        recorder.accept(new WireExchange(request.getMethod().name(), request.getUri(),
+                new String(requestBody, StandardCharsets.UTF_8), response.getStatus(), response.getHeader("Content-Type"),
+                new String(responseBody, StandardCharsets.UTF_8), micros, WireTransport.owner()));
+        return response;
+    }
+
+    // BiDi/CDP traffic goes over websockets and is not part of the recording
+    @Override
+    public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        return delegate.openSocket(request, listener);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
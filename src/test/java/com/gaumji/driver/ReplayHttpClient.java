@@ -0,0 +1,266 @@
+package com.gaumji.driver;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+Answers wire protocol requests from a recording instead of a grid.
+A new session gets a placeholder id; its first command binds it to the recorded session of the same owner
+(the <test> or data set row that used it, see WireTransport.owner), so parallel tests get their own session's answers
+whichever of them starts a session first. Pre-warmed sessions are bound by the test that takes them.
+Each session replays its own exchanges in order. A request that doesn't match the next exchange (the framework now sends
+fewer or different commands) is matched to the first later exchange of the session with the same method, uri and JSON body,
+skipping the ones in between, or failing that to the first one with the same method and uri, which is logged as a mismatch.
+ */
+class ReplayHttpClient implements HttpClient {
+
+    private final Recording recording;
+
+    ReplayHttpClient(Recording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public HttpResponse execute(HttpRequest request) {
+        String body = new String(Contents.bytes(request.getContent()), StandardCharsets.UTF_8);
+        WireExchange exchange = recording.next(request.getMethod().name(), request.getUri(), body);
+        long latencyNanos = (long) (TimeUnit.MICROSECONDS.toNanos(exchange.micros()) * recording.latencyScale);
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+        HttpResponse response = new HttpResponse().setStatus(exchange.status());
+        if (exchange.contentType() != null) {
+            response.setHeader("Content-Type", exchange.contentType());
+        }
+        return response.setContent(Contents.utf8String(exchange.response()));
+    }
+
+    @Override
+    public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        throw new UnsupportedOperationException("WebSocket connections (BiDi/CDP) can't be replayed");
+    }
+
+    static class Recording {
+
+        private static final Logger log = LoggerFactory.getLogger(Recording.class);
+        private static final String NO_SESSION = "";
+        private static final String PLACEHOLDER = "replay-";
+        private static final ObjectMapper mapper = new ObjectMapper();
+
+        // in recording order, guarded by this
+        private final List<RecordedSession> sessions = new ArrayList<>();
+        // placeholder id -> capabilities it was started with, until its first command binds it
+        private final Map<String, String> placeholders = new HashMap<>();
+        private int started;
+        private final Map<String, String> bound = new ConcurrentHashMap<>();
+        private final Map<String, Deque<WireExchange>> bySession = new ConcurrentHashMap<>();
+        private final double latencyScale;
+        private final LongAdder served = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder mismatched = new LongAdder();
+        private final LongAdder unowned = new LongAdder();
+
+        Recording(List<WireExchange> exchanges, double latencyScale) {
+            this.latencyScale = Math.max(0, latencyScale);
+            for (WireExchange exchange : exchanges) {
+                if (exchange.isNewSession()) {
+                    String id = sessionId(exchange.response());
+                    if (id != null) {
+                        sessions.add(new RecordedSession(id, exchange));
+                    }
+                } else {
+                    bySession.computeIfAbsent(Objects.requireNonNullElse(exchange.sessionId(), NO_SESSION),
+                            k -> new ConcurrentLinkedDeque<>()).add(exchange);
+                }
+            }
+            // the first test that sent a command of the session owns it, the session may have been started by a pre-warming thread
+            for (RecordedSession session : sessions) {
+                session.owner = bySession.getOrDefault(session.id, new ConcurrentLinkedDeque<>()).stream()
+                        .map(WireExchange::owner)
+                        .filter(Objects::nonNull)
+                        .findFirst()
+                        .orElse(null);
+            }
+        }
+
+        WireExchange next(String method, String uri, String body) {
+            WireExchange probe = new WireExchange(method, uri, body, 0, null, null, 0, null);
+            if (probe.isNewSession()) {
+                served.increment();
+                return start(probe);
+            }
+            String sessionId = probe.sessionId();
+            if (sessionId != null) {
+                String recordedId = bind(sessionId);
+                uri = uri.replace("/session/" + sessionId, "/session/" + recordedId);
+                sessionId = recordedId;
+            }
+            Deque<WireExchange> queue = bySession.get(Objects.requireNonNullElse(sessionId, NO_SESSION));
+            if (queue != null) {
+                // one thread per session, only the /status style requests without a session can race here
+                synchronized (queue) {
+                    WireExchange exchange = take(queue, method, uri, body);
+                    if (exchange != null) {
+                        served.increment();
+                        return exchange;
+                    }
+                }
+            }
+            throw new WebDriverException("No recorded response left for " + method + " " + uri);
+        }
+
+        // Answers with a recorded start of the same capabilities under a placeholder id, the session is picked on its first command
+        private synchronized WireExchange start(WireExchange request) {
+            if (started >= sessions.size()) {
+                throw new WebDriverException("The recording has no more sessions to start");
+            }
+            RecordedSession template = sessions.stream()
+                    .filter(session -> !session.taken && sameBody(session.start.request(), request.request()))
+                    .findFirst()
+                    .orElseGet(() -> sessions.stream().filter(session -> !session.taken).findFirst().orElseThrow());
+            String placeholder = PLACEHOLDER + ++started;
+            placeholders.put(placeholder, request.request());
+            WireExchange start = template.start;
+            return new WireExchange(start.method(), start.uri(), start.request(), start.status(), start.contentType(),
+                    start.response().replace(template.id, placeholder), start.micros(), start.owner());
+        }
+
+        private String bind(String placeholder) {
+            String recordedId = bound.get(placeholder);
+            if (recordedId != null) {
+                return recordedId;
+            }
+            synchronized (this) {
+                String capabilities = placeholders.get(placeholder);
+                if (capabilities == null) {
+                    // not started by this replay, answered from the recorded session of that id if there is one
+                    return placeholder;
+                }
+                String owner = WireTransport.owner();
+                List<RecordedSession> left = sessions.stream()
+                        .filter(session -> !session.taken && sameBody(session.start.request(), capabilities))
+                        .toList();
+                if (left.isEmpty()) {
+                    throw new WebDriverException("The recording has no session left for " + owner);
+                }
+                RecordedSession session = left.stream()
+                        .filter(candidate -> Objects.equals(candidate.owner, owner))
+                        .findFirst()
+                        .orElse(null);
+                if (session == null) {
+                    session = left.get(0);
+                    unowned.increment();
+                    log.warn("⚠️ No recorded session of {} left, replaying the one of {} for it: its answers may not fit the test",
+                            owner, session.owner);
+                }
+                session.taken = true;
+                placeholders.remove(placeholder);
+                bound.put(placeholder, session.id);
+                return session.id;
+            }
+        }
+
+        private WireExchange take(Deque<WireExchange> queue, String method, String uri, String body) {
+            int sameCommand = -1;
+            int position = 0;
+            for (Iterator<WireExchange> it = queue.iterator(); it.hasNext(); position++) {
+                WireExchange candidate = it.next();
+                if (candidate.method().equals(method) && candidate.uri().equals(uri)) {
+                    if (sameBody(candidate.request(), body)) {
+                        return takeAt(queue, position);
+                    }
+                    if (sameCommand < 0) {
+                        sameCommand = position;
+                    }
+                }
+            }
+            if (sameCommand < 0) {
+                return null;
+            }
+            WireExchange exchange = takeAt(queue, sameCommand);
+            mismatched.increment();
+            log.warn("⚠️ Replaying {} {} with the answer to another request: recorded {}, sent {}",
+                    method, uri, abbreviate(exchange.request()), abbreviate(body));
+            return exchange;
+        }
+
+        // everything before the match was sent in the recorded run but not in this one
+        private WireExchange takeAt(Deque<WireExchange> queue, int position) {
+            for (int i = 0; i < position; i++) {
+                queue.poll();
+            }
+            skipped.add(position);
+            return queue.poll();
+        }
+
+        // key order of JSON objects differs between runs (Map.of), compare the parsed trees when the text differs
+        private static boolean sameBody(String recorded, String actual) {
+            if (recorded.equals(actual)) {
+                return true;
+            }
+            try {
+                return mapper.readTree(recorded).equals(mapper.readTree(actual));
+            } catch (JsonProcessingException e) {
+                return false;
+            }
+        }
+
+        // W3C answers {"value": {"sessionId": ...}}, older drivers put it next to the value
+        private static String sessionId(String response) {
+            try {
+                JsonNode answer = mapper.readTree(response);
+                JsonNode id = answer.path("value").path("sessionId");
+                return id.isTextual() ? id.asText() : answer.path("sessionId").textValue();
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+
+        private static String abbreviate(String body) {
+            return body.length() > 200 ? body.substring(0, 200) + "..." : body;
+        }
+
+        synchronized String stats() {
+            int unused = (int) sessions.stream().filter(session -> !session.taken).count()
+                    + bySession.values().stream().mapToInt(Deque::size).sum();
+            return String.format("served=%d, skipped=%d, mismatched=%d, sessions of another owner=%d, unused=%d",
+                    served.sum(), skipped.sum(), mismatched.sum(), unowned.sum(), unused);
+        }
+
+        private static final class RecordedSession {
+
+            private final String id;
+            private final WireExchange start;
+            private String owner;
+            private boolean taken;
+
+            private RecordedSession(String id, WireExchange start) {
+                this.id = id;
+                this.start = start;
+            }
+        }
+    }
+}
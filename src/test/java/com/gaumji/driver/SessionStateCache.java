@@ -0,0 +1,146 @@
+package com.gaumji.driver;
+
+import com.gaumji.util.Config;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/*
+Logged-in browser state (cookies, local and session storage, the page the login landed on) per user and environment.
+The first flow of a user logs in through the UI and captures the state, later flows put it into their own
+(fresh or pooled) session and go straight to the landing page. State the app no longer accepts (e.g. after a logout
+ended the session on the server) is dropped and the flow logs in again, so the UI login runs once per user per run
+unless the app rejects the session.
+Flows of the same user share the app's session, so they take turns: a flow holds the user's lease until it is done,
+a logout of one flow never pulls the session out from under another.
+ */
+public class SessionStateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStateCache.class);
+
+    private static final Map<String, BrowserState> states = new ConcurrentHashMap<>();
+    private static final Map<String, Semaphore> leases = new ConcurrentHashMap<>();
+
+    private static final LongAdder restored = new LongAdder();
+    private static final LongAdder rejected = new LongAdder();
+    private static final LongAdder uiLogins = new LongAdder();
+
+    /*
+    Leaves the session logged in as the user: restores the cached state, or runs the UI login and caches the result.
+    isAuthenticated checks the page the user should be on (e.g. dashboardPage::isAt), a check that throws counts as false.
+    Waits for other flows of the user to close their lease, the returned one is closed once the flow is done with the login.
+     */
+    public static Lease authenticate(WebDriver driver, String user, Runnable login, BooleanSupplier isAuthenticated) {
+        // a semaphore, the lease may be closed by another thread than the one that took it (e.g. the next test method)
+        Semaphore lease = leases.computeIfAbsent(key(user), k -> new Semaphore(1));
+        lease.acquireUninterruptibly();
+        try {
+            if (restore(driver, user, isAuthenticated)) {
+                return new Lease(true, lease);
+            }
+            log.info("🔑 Logging in {} through the UI", user);
+            uiLogins.increment();
+            login.run();
+            if (!check(isAuthenticated)) {
+                return new Lease(false, lease);
+            }
+            capture(driver, user);
+            return new Lease(true, lease);
+        } catch (RuntimeException | Error e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    // Caches the state of a session that is logged in as the user right now
+    public static void capture(WebDriver driver, String user) {
+        BrowserState state = BrowserState.capture(driver);
+        states.put(key(user), state);
+        log.info("🔐 Captured session state of {}: {}", user, state);
+    }
+
+    // counts since the last call, the suite teardown reports them per suite
+    public static CacheStats stats() {
+        return new CacheStats(restored.sumThenReset(), rejected.sumThenReset(), uiLogins.sumThenReset());
+    }
+
+    private static boolean restore(WebDriver driver, String user, BooleanSupplier isAuthenticated) {
+        BrowserState state = states.get(key(user));
+        if (state == null) {
+            return false;
+        }
+        try {
+            state.restore(driver);
+        } catch (WebDriverException e) {
+            log.warn("⚠️ Unable to restore session state of {}: {}", user, e.getMessage());
+            return reject(driver, user, state);
+        }
+        // an app that no longer knows the session usually sends it to its login page, no need to wait for the check
+        if (!state.url().equals(driver.getCurrentUrl()) || !check(isAuthenticated)) {
+            return reject(driver, user, state);
+        }
+        restored.increment();
+        log.info("🔓 Restored session state of {}, skipped the UI login", user);
+        return true;
+    }
+
+    private static boolean reject(WebDriver driver, String user, BrowserState state) {
+        rejected.increment();
+        // only drop the state that was rejected, another flow may have stored a newer one meanwhile
+        states.remove(key(user), state);
+        log.info("🚫 Session state of {} was not accepted, logging in again", user);
+        try {
+            BrowserState.clear(driver);
+        } catch (WebDriverException e) {
+            log.warn("⚠️ Unable to clear the rejected session state: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean check(BooleanSupplier isAuthenticated) {
+        try {
+            return isAuthenticated.getAsBoolean();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static String key(String user) {
+        return user + "@" + Config.settings().environment();
+    }
+
+    // The user's turn with the login, authenticated tells whether the session ended up logged in
+    public static final class Lease implements AutoCloseable {
+
+        private final boolean authenticated;
+        private final Semaphore permit;
+        private boolean closed;
+
+        private Lease(boolean authenticated, Semaphore permit) {
+            this.authenticated = authenticated;
+            this.permit = permit;
+        }
+
+        public boolean authenticated() {
+            return authenticated;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!closed) {
+                closed = true;
+                permit.release();
+            }
+        }
+    }
+
+    public record CacheStats(long restored, long rejected, long uiLogins) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.gaumji.driver;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+One request/response pair of the WebDriver wire protocol, as written to and read from a recording.
+owner is the <test> (and data set row) that sent it, null when no test was running (e.g. pre-warming threads).
+ */
+public record WireExchange(String method, String uri, String request,
+                           int status, String contentType, String response, long micros, String owner) {
+
+    private static final Pattern SESSION_URI = Pattern.compile("/session/([^/?]+)");
+
+    // null for requests outside a session (new session, /status)
+    @JsonIgnore
+    public String sessionId() {
+        Matcher matcher = SESSION_URI.matcher(uri);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @JsonIgnore
+    public boolean isNewSession() {
+        return "POST".equals(method) && sessionId() == null && uri.endsWith("/session");
+    }
+}
@@ -0,0 +1,150 @@
+package com.gaumji.driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.xml.XmlTest;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+HTTP transport of the remote drivers.
+live   - talk to the grid as usual
+record - talk to the grid and write every wire protocol exchange to a gzipped JSON lines file
+replay - answer every command from a recording in-process, no grid or browser needed,
+         with the recorded latency multiplied by a scale (1 = original timings, 0 = no latency)
+ */
+public class WireTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(WireTransport.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public enum Mode {LIVE, RECORD, REPLAY}
+
+    private static volatile Mode mode = Mode.LIVE;
+    private static volatile Path file;
+    private static volatile ReplayHttpClient.Recording recording;
+    private static BufferedWriter writer;
+    private static int recorded;
+    // the file is started over once per JVM, every suite after that adds its own gzip member
+    private static boolean started;
+
+    public static void configure(Mode transportMode, Path recordingFile, double latencyScale) {
+        mode = transportMode;
+        file = recordingFile;
+        if (mode == Mode.REPLAY) {
+            recording = new ReplayHttpClient.Recording(read(file), latencyScale);
+            log.info("📼 Replaying WebDriver traffic from {} (latency x{})", file.toAbsolutePath(), latencyScale);
+        } else if (mode == Mode.RECORD) {
+            log.info("⏺️ Recording WebDriver traffic to {}", file.toAbsolutePath());
+        }
+    }
+
+    public static boolean isReplay() {
+        return mode == Mode.REPLAY;
+    }
+
+    public static HttpClient.Factory clientFactory() {
+        HttpClient.Factory live = HttpClient.Factory.createDefault();
+        return switch (mode) {
+            case LIVE -> live;
+            case RECORD -> config -> new RecordingHttpClient(live.createClient(config), WireTransport::append);
+            case REPLAY -> config -> new ReplayHttpClient(recording);
+        };
+    }
+
+    /*
+    The <test> the calling thread works for, data set rows add their row: a replayed session is matched to the recorded one by it.
+    Threads outside a test (pre-warming, suite configuration) have none, they inherit the result of @BeforeSuite.
+     */
+    static String owner() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        ITestNGMethod method = result == null ? null : result.getMethod();
+        if (method == null || method.isBeforeSuiteConfiguration() || method.isAfterSuiteConfiguration()) {
+            return null;
+        }
+        XmlTest xmlTest = result.getTestContext().getCurrentXmlTest();
+        String test = xmlTest.getSuite().getName() + " > " + xmlTest.getName();
+        Object[] parameters = result.getParameters();
+        return method.isTest() && parameters != null && parameters.length > 0 ? test + " " + Arrays.toString(parameters) : test;
+    }
+
+    // Flushes the recording at the end of a suite, or reports how closely the replay followed it
+    public static synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+                log.info("⏺️ Recorded {} WebDriver exchange(s) to {}", recorded, file.toAbsolutePath());
+            } catch (IOException e) {
+                log.error("❌ Unable to finish the WebDriver recording {}", file, e);
+            }
+            writer = null;
+        }
+        if (recording != null) {
+            log.info("📼 Replay finished: {}", recording.stats());
+        }
+    }
+
+    private static synchronized void append(WireExchange exchange) {
+        try {
+            if (writer == null) {
+                writer = open();
+            }
+            writer.write(mapper.writeValueAsString(exchange));
+            writer.newLine();
+            recorded++;
+        } catch (IOException e) {
+            // a broken recording must not fail the test run that produces it
+            log.error("❌ Unable to record WebDriver exchange {} {}", exchange.method(), exchange.uri(), e);
+        }
+    }
+
+    // GZIPInputStream reads concatenated members as one stream, so a reopened file stays a single recording
+    private static BufferedWriter open() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        OutputStream out = started
+                ? Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newOutputStream(file);
+        if (!started) {
+            started = true;
+            // exchanges after the last suite (late quits of pre-warmed sessions) are flushed on the way out
+            Runtime.getRuntime().addShutdownHook(new Thread(WireTransport::close, "wire-recording-close"));
+        }
+        return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(out), StandardCharsets.UTF_8));
+    }
+
+    private static List<WireExchange> read(Path path) {
+        List<WireExchange> exchanges = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    exchanges.add(mapper.readValue(line, WireExchange.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read WebDriver recording " + path.toAbsolutePath(), e);
+        }
+        return exchanges;
+    }
+}
@@ -0,0 +1,109 @@
+package com.gaumji.execution;
+
+import com.gaumji.util.Config;
+import com.gaumji.util.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/*
+Orders the <test> blocks of every suite longest first (by TestDurations), so the long ones don't start last
+and keep a single thread busy after the others are done.
+With shard.count > 1 the <test> blocks of all suites are split into that many shards of about the same length
+(longest first, each one to the shard with the least work so far) and only shard number shard.index runs.
+
+Registered as a listener in the suite files; it runs before @BeforeSuite, so it initializes the configuration itself.
+ */
+public class DurationSharder implements IAlterSuiteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DurationSharder.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        Config.initialize();
+        Settings settings = Config.settings();
+
+        List<XmlSuite> all = new ArrayList<>();
+        suites.forEach(suite -> collect(suite, all));
+        Map<XmlTest, Long> estimates = estimate(all);
+        // stable sort: equal estimates keep the order of the suite files, every shard runner computes the same plan
+        Comparator<XmlTest> longestFirst = Comparator.comparing(estimates::get, Comparator.reverseOrder());
+
+        if (settings.shardCount() > 1) {
+            List<XmlTest> tests = new ArrayList<>();
+            all.forEach(suite -> tests.addAll(suite.getTests()));
+            tests.sort(longestFirst);
+            long[] load = new long[settings.shardCount()];
+            Set<XmlTest> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (XmlTest test : tests) {
+                int shard = 0;
+                for (int i = 1; i < load.length; i++) {
+                    if (load[i] < load[shard]) {
+                        shard = i;
+                    }
+                }
+                load[shard] += estimates.get(test);
+                if (shard == settings.shardIndex() - 1) {
+                    kept.add(test);
+                }
+            }
+            log.info("🧩 Shard {}/{}: {} of {} <test> block(s), estimated load per shard (ms): {}",
+                    settings.shardIndex(), settings.shardCount(), kept.size(), tests.size(), Arrays.toString(load));
+            all.forEach(suite -> suite.setTests(new ArrayList<>(suite.getTests().stream().filter(kept::contains).toList())));
+        }
+
+        for (XmlSuite suite : all) {
+            List<XmlTest> ordered = new ArrayList<>(suite.getTests());
+            ordered.sort(longestFirst);
+            // TestNG starts the <test> blocks by their index, not by their position in the list
+            for (int i = 0; i < ordered.size(); i++) {
+                ordered.get(i).setIndex(i);
+            }
+            suite.setTests(ordered);
+            if (!ordered.isEmpty()) {
+                log.info("⏳ {} runs its <test> blocks longest first: {}", suite.getName(),
+                        ordered.stream().map(test -> test.getName() + " (" + estimates.get(test) + "ms)").toList());
+            }
+        }
+    }
+
+    private static void collect(XmlSuite suite, List<XmlSuite> all) {
+        all.add(suite);
+        suite.getChildSuites().forEach(child -> collect(child, all));
+    }
+
+    // <test> blocks that never passed yet are counted as an average one.
+    // No estimate is below 1ms: with all of them 0 (no durations file yet) every block would land on the first shard
+    private static Map<XmlTest, Long> estimate(List<XmlSuite> suites) {
+        Map<XmlTest, Long> estimates = new IdentityHashMap<>();
+        List<XmlTest> unknown = new ArrayList<>();
+        long total = 0;
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                OptionalLong millis = TestDurations.get(suite.getName(), test.getName());
+                if (millis.isPresent()) {
+                    long known = Math.max(1, millis.getAsLong());
+                    estimates.put(test, known);
+                    total += known;
+                } else {
+                    unknown.add(test);
+                }
+            }
+        }
+        long average = estimates.isEmpty() ? 1 : total / estimates.size();
+        unknown.forEach(test -> estimates.put(test, average));
+        return estimates;
+    }
+}
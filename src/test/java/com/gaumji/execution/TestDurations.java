@@ -0,0 +1,80 @@
+package com.gaumji.execution;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gaumji.util.Config;
+import com.gaumji.util.ReportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/*
+Wall time of every <test> block in earlier runs, stored in durations.file as suite name -> test name -> milliseconds.
+Only a <test> whose methods and configurations all passed updates its entry (a failing one stops early),
+the stored value is the average of the previous one and the latest run, so one slow run doesn't reorder everything.
+ */
+public class TestDurations {
+
+    private static final Logger log = LoggerFactory.getLogger(TestDurations.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static Map<String, Map<String, Long>> durations;
+    private static boolean changed;
+
+    public static synchronized OptionalLong get(String suite, String test) {
+        Long millis = load().getOrDefault(suite, Map.of()).get(test);
+        return millis != null ? OptionalLong.of(millis) : OptionalLong.empty();
+    }
+
+    // Called from @AfterTest, the end date of the context isn't set yet at that point
+    public static synchronized void record(ITestContext ctx) {
+        if (ctx.getFailedTests().size() > 0 || ctx.getSkippedTests().size() > 0 || ctx.getFailedConfigurations().size() > 0) {
+            return;
+        }
+        long millis = System.currentTimeMillis() - ctx.getStartDate().getTime();
+        load().computeIfAbsent(ctx.getSuite().getName(), k -> new TreeMap<>())
+                .merge(ctx.getName(), millis, (previous, latest) -> (previous + latest) / 2);
+        changed = true;
+    }
+
+    // Queues the updated file on the report writer, nothing is written when no <test> passed
+    public static synchronized void save() {
+        if (!changed) {
+            return;
+        }
+        Path file = Config.settings().durationsFile();
+        try {
+            ReportWriter.writeFile(file, mapper.writeValueAsString(durations));
+            changed = false;
+            log.info("⏳ Test durations queued for: {}", file.toAbsolutePath());
+        } catch (JsonProcessingException e) {
+            log.error("❌ Unable to write test durations", e);
+        }
+    }
+
+    private static Map<String, Map<String, Long>> load() {
+        if (durations == null) {
+            durations = new TreeMap<>();
+            Path file = Config.settings().durationsFile();
+            if (Files.exists(file)) {
+                try {
+                    durations.putAll(mapper.readValue(file.toFile(), new TypeReference<TreeMap<String, TreeMap<String, Long>>>() {
+                    }));
+                } catch (IOException e) {
+                    // the next passing run writes a fresh file
+                    log.warn("⚠️ Ignoring unreadable test durations file {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,32 @@
+package com.gaumji.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IExecutorServiceFactory;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/*
+Optional TestNG executor that runs every test flow on its own virtual thread.
+The flows spend almost all their time waiting on WebDriver HTTP calls, so the thread pool size stops mattering
+and concurrency is bounded by the grid slots instead.
+
+Enable it with: org.testng.TestNG -threadpoolfactoryclass com.gaumji.execution.VirtualThreadExecutorFactory ...
+(runner.sh does this when EXECUTOR_MODE=virtual).
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadExecutorFactory.class);
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        // pool sizing arguments are ignored on purpose: one virtual thread per task
+        log.info("🧵 Using virtual threads for test execution (requested thread count {} is ignored)", maximumPoolSize);
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("testng-vt-", 0).factory());
+    }
+}
@@ -0,0 +1,47 @@
+package com.gaumji.listener;
+
+import com.gaumji.tests.AbstractTest;
+import com.gaumji.util.Config;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+/*
+Retries a failed step of a dependsOnMethods chain (retry.maxAttempts times) without replaying the steps that passed.
+The <test> gets another session, put back to the last checkpoint (see Checkpoints), and only the failed step runs again;
+TestNG runs its dependents once the retry passes.
+ */
+public class CheckpointRetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckpointRetryAnalyzer.class);
+
+    // TestNG creates one analyzer per test method (and per data set row)
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        int maxAttempts = Config.settings().retryMaxAttempts();
+        if (attempts >= maxAttempts || !(result.getInstance() instanceof AbstractTest test)) {
+            return false;
+        }
+        attempts++;
+        ITestContext ctx = result.getTestContext();
+        Checkpoints.Checkpoint checkpoint = Checkpoints.last(ctx);
+        log.info("🔁 Retrying {} ({}/{}) from {}", result.getName(), attempts, maxAttempts,
+                checkpoint != null ? "the checkpoint after " + checkpoint.step() : "the start of the chain");
+        try {
+            WebDriver driver = test.renewDriver(ctx);
+            if (driver != null && checkpoint != null) {
+                checkpoint.resume(driver);
+            }
+            return true;
+        } catch (WebDriverException e) {
+            log.warn("⚠️ Unable to resume {} from its checkpoint, not retrying: {}", result.getName(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.gaumji.listener;
+
+import com.gaumji.driver.BrowserState;
+import com.gaumji.util.Constants;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+import java.util.function.Consumer;
+
+/*
+Resume points of a dependsOnMethods chain that shares the session of its <test>.
+Every passed step of a CheckpointRetryAnalyzer test leaves the browser state it ended in on the test context,
+a retried step starts from there on a new session instead of replaying the chain from its first step.
+ */
+public class Checkpoints {
+
+    private static final Logger log = LoggerFactory.getLogger(Checkpoints.class);
+
+    private static final ThreadLocal<Consumer<WebDriver>> reentry = new ThreadLocal<>();
+
+    /*
+    Declared by a step whose end state isn't reached again by loading its URL (e.g. state only held by the page's scripts).
+    The action runs on the restored session after cookies and storage are back, following the reentries of the steps before it:
+    a page reached by clicking through is rebuilt from the start of the chain. A step without one starts the chain over at its URL.
+     */
+    public static void reentry(Consumer<WebDriver> action) {
+        reentry.set(action);
+    }
+
+    public static Checkpoint last(ITestContext ctx) {
+        return (Checkpoint) ctx.getAttribute(Constants.CHECKPOINT);
+    }
+
+    // Called after every invocation of a checkpointed step, only a passed one moves the checkpoint
+    static void afterStep(ITestResult result) {
+        Consumer<WebDriver> action = reentry.get();
+        reentry.remove();
+        ITestContext ctx = result.getTestContext();
+        // data set rows get a new session for every invocation, there is no chain to resume
+        if (result.getStatus() != ITestResult.SUCCESS || !(ctx.getAttribute(Constants.DRIVER) instanceof WebDriver driver)) {
+            return;
+        }
+        Checkpoint previous = last(ctx);
+        if (action != null && previous != null && previous.reentry() != null) {
+            action = previous.reentry().andThen(action);
+        }
+        try {
+            Checkpoint checkpoint = new Checkpoint(result.getName(), BrowserState.capture(driver), action);
+            ctx.setAttribute(Constants.CHECKPOINT, checkpoint);
+            log.info("📍 Checkpoint after {}: {}", checkpoint.step(), checkpoint.state());
+        } catch (WebDriverException e) {
+            // the previous checkpoint stays, a retry resumes from further back
+            log.warn("⚠️ Unable to record a checkpoint after {}: {}", result.getName(), e.getMessage());
+        }
+    }
+
+    public record Checkpoint(String step, BrowserState state, Consumer<WebDriver> reentry) {
+
+        public void resume(WebDriver driver) {
+            state.restore(driver);
+            if (reentry != null) {
+                reentry.accept(driver);
+            }
+        }
+    }
+}
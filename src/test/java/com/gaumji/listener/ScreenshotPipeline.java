@@ -0,0 +1,144 @@
+package com.gaumji.listener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+Writes failure screenshots in the background.
+Files are named after the hash of the capture, so the same image (a common error page) is stored once per directory.
+Downscaling and format conversion (screenshots.maxWidth / screenshots.format) happen on the writer threads.
+The queue is bounded: when it is full the failing test thread writes its own screenshot instead of piling up images in memory.
+ */
+public class ScreenshotPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreenshotPipeline.class);
+
+    // Allure picks up files with this suffix from the results directory
+    private static final String FILE_SUFFIX = "-attachment.";
+    private static final int WRITERS = 2;
+    private static final int QUEUE_SIZE = 16;
+
+    private static final Set<Path> stored = ConcurrentHashMap.newKeySet();
+    // writes not known to be finished yet, flush() waits for them
+    private static final Queue<Future<?>> pending = new ConcurrentLinkedQueue<>();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(WRITERS, WRITERS, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private static volatile int maxWidth;
+    private static volatile String format = "png";
+
+    public static void configure(int maxWidthPixels, String imageFormat) {
+        maxWidth = Math.max(0, maxWidthPixels);
+        format = "jpg".equalsIgnoreCase(imageFormat) || "jpeg".equalsIgnoreCase(imageFormat) ? "jpg" : "png";
+    }
+
+    public static String mimeType() {
+        return "jpg".equals(format) ? "image/jpeg" : "image/png";
+    }
+
+    // Queues the capture for every directory and returns the file name it will have there
+    public static String submit(byte[] png, List<Path> directories) {
+        String fileName = hash(png) + FILE_SUFFIX + format;
+        List<Path> targets = directories.stream()
+                .map(directory -> directory.resolve(fileName).toAbsolutePath())
+                .filter(stored::add)
+                .toList();
+        if (!targets.isEmpty()) {
+            // a full queue runs the write on this thread, the returned future is then already done
+            pending.add(executor.submit(() -> write(png, targets)));
+        }
+        return fileName;
+    }
+
+    // Waits for the queued screenshots at the end of every suite; the writers stay up for the next suite of the JVM
+    public static void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        Future<?> next;
+        while ((next = pending.poll()) != null) {
+            try {
+                next.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("⚠️ Screenshots still being written after 60s, {} left in the queue", pending.size() + 1);
+                return;
+            } catch (ExecutionException e) {
+                log.error("❌ Screenshot writer failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void write(byte[] png, List<Path> targets) {
+        try {
+            byte[] image = process(png);
+            for (Path target : targets) {
+                Files.createDirectories(target.getParent());
+                // write next to the target and move, so a report never links to half a file
+                Path temp = Files.createTempFile(target.getParent(), "screenshot", ".tmp");
+                Files.write(temp, image);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            log.error("❌ Unable to write screenshot {}", targets, e);
+        }
+    }
+
+    private static byte[] process(byte[] png) throws IOException {
+        if (maxWidth == 0 && "png".equals(format)) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        int width = maxWidth > 0 ? Math.min(maxWidth, image.getWidth()) : image.getWidth();
+        int height = (int) Math.round((double) image.getHeight() * width / image.getWidth());
+        // jpg has no alpha channel
+        BufferedImage scaled = new BufferedImage(width, height, "jpg".equals(format) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, format, out);
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
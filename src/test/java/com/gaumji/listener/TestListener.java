@@ -1,42 +1,115 @@
 package com.gaumji.listener;
 
+import com.gaumji.logging.TestLogBuffer;
+import com.gaumji.pages.UnsupportedBrowserException;
+import com.gaumji.perf.PagePerformanceReport;
+import com.gaumji.perf.StepTimings;
 import com.gaumji.util.Constants;
-import io.qameta.allure.Attachment;
+import com.gaumji.util.ReportWriter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.testng.ITestListener;
+import org.slf4j.MDC;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestResult;
 import org.testng.Reporter;
 
-// This listener now only handles test failures (screenshots and logs).
-// It no longer needs to implement IExecutionListener.
-public class TestListener implements ITestListener {
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// This listener handles test failures (screenshots and logs) and routes the log lines of each test method into its own buffer.
+// It runs right after the failed test method: by the time ITestListener.onTestFailure is called
+// the Allure listener has already closed the test case and attachments would be dropped.
+public class TestListener implements IInvokedMethodListener {
 
     @Override
-    public void onTestFailure(ITestResult result) {
-        WebDriver driver = (WebDriver) result.getTestContext().getAttribute(Constants.DRIVER);
-        if (driver != null) {
-            // Screenshot in TestNG HTML report
-            String base64Screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
-            String htmlImage = String.format("<img width=700px src='data:image/png;base64,%s' />", base64Screenshot);
-            Reporter.log(htmlImage);
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (method.isTestMethod()) {
+            MDC.put(TestLogBuffer.MDC_KEY, getLogKey(result));
+        }
+    }
 
-            // Attach to Allure report
-            saveScreenshotToAllure(driver);
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        String logKey = getLogKey(result);
+        MDC.remove(TestLogBuffer.MDC_KEY);
+        // a page that needs a real browser was opened on htmlunit, that is not a failure of the flow
+        if (result.getThrowable() instanceof UnsupportedBrowserException) {
+            result.setStatus(ITestResult.SKIP);
+        }
+        if (CheckpointRetryAnalyzer.class.equals(result.getMethod().getRetryAnalyzerClass())) {
+            Checkpoints.afterStep(result);
+        }
+        PagePerformanceReport.attachTestCaptures();
+        if (result.getStatus() == ITestResult.SUCCESS) {
+            StepTimings.record(result, "@Test " + result.getName(), result.getEndMillis() - result.getStartMillis());
+        }
+        if (result.getStatus() != ITestResult.FAILURE) {
+            TestLogBuffer.discard(logKey);
+            return;
+        }
+        // data set rows carry their own session, the other flows share the one of their <test>
+        Object rowDriver = result.getAttribute(Constants.DRIVER);
+        WebDriver driver = (WebDriver) (rowDriver != null ? rowDriver : result.getTestContext().getAttribute(Constants.DRIVER));
+        // htmlunit renders nothing it could take a picture of
+        if (driver instanceof TakesScreenshot) {
+            // One capture over the wire, writing the files happens in the background
+            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            List<Path> directories = new ArrayList<>();
+            directories.add(ReportWriter.allureResultsDirectory());
+            Path reportDirectory = getReportDirectory(result);
+            if (reportDirectory != null) {
+                directories.add(reportDirectory.resolve("screenshots"));
+            }
+            String fileName = ScreenshotPipeline.submit(screenshot, directories);
+
+            // Screenshot in TestNG HTML report, linked instead of inlined
+            if (reportDirectory != null) {
+                Reporter.log(String.format("<a href='screenshots/%1$s'><img width=700px src='screenshots/%1$s' /></a>", fileName));
+            }
+
+            // Attach to Allure report, the file itself is written by the pipeline
+            saveScreenshotToAllure(fileName);
         }
 
         // Add failure message to Allure
         saveFailureLogToAllure(result.getThrowable() != null ? result.getThrowable().toString() : "Unknown error");
+
+        // Log lines of this test only, parallel tests write to their own buffers
+        String testLog = TestLogBuffer.collect(logKey);
+        if (testLog != null) {
+            ReportWriter.attach("Test Log", "text/plain", ".log", testLog);
+        }
+    }
+
+    private void saveScreenshotToAllure(String fileName) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        lifecycle.getCurrentTestCase().ifPresent(uuid -> lifecycle.updateTestCase(uuid, testCase ->
+                testCase.getAttachments().add(new io.qameta.allure.model.Attachment()
+                        .setName("Screenshot")
+                        .setType(ScreenshotPipeline.mimeType())
+                        .setSource(fileName))));
+    }
+
+    private void saveFailureLogToAllure(String message) {
+        ReportWriter.attach("Failure Log", "text/plain", ".txt", message);
     }
 
-    @Attachment(value = "Screenshot", type = "image/png")
-    private byte[] saveScreenshotToAllure(WebDriver driver) {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+    // <test> name, method and thread: data set rows of the same method run side by side on different threads
+    private String getLogKey(ITestResult result) {
+        return result.getTestContext().getName() + " > " + result.getName() + " [" + Thread.currentThread().getName() + "]";
     }
 
-    @Attachment(value = "Failure Log", type = "text/plain")
-    private String saveFailureLogToAllure(String message) {
-        return message;
+    // Root of the TestNG reports (index.html, emailable-report.html), the context directory is one level below
+    private Path getReportDirectory(ITestResult result) {
+        String outputDirectory = result.getTestContext().getOutputDirectory();
+        return outputDirectory == null ? null : Path.of(outputDirectory).toAbsolutePath().getParent();
     }
-}
\ No newline at end of file
+}
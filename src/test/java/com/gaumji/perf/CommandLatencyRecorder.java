@@ -0,0 +1,145 @@
+package com.gaumji.perf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gaumji.pages.AbstractPage;
+import com.gaumji.util.ReportWriter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+Records how long every WebDriver command takes, tagged with the active page object and Allure step.
+Drivers are wrapped once when they are created; recording costs two nanoTime calls and a histogram increment.
+ */
+public class CommandLatencyRecorder implements WebDriverListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandLatencyRecorder.class);
+    private static final CommandLatencyRecorder INSTANCE = new CommandLatencyRecorder();
+    private static final String NONE = "-";
+
+    // local calls on the decorated objects that never reach the browser
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement");
+
+    private static final Map<Tag, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final ThreadLocal<long[]> startedAt = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<String[]> lastStep = ThreadLocal.withInitial(() -> new String[2]);
+
+    public static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(INSTANCE).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startedAt.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    private void record(Method method) {
+        long elapsedMicros = (System.nanoTime() - startedAt.get()[0]) / 1_000;
+        String command = method.getName();
+        if (LOCAL_CALLS.contains(command)) {
+            return;
+        }
+        String page = Optional.ofNullable(AbstractPage.getActivePage()).orElse(NONE);
+        histograms.computeIfAbsent(new Tag(command, page, currentStep()), k -> new LatencyHistogram()).record(elapsedMicros);
+    }
+
+    // Allure only exposes the uuid of the running step, the name is looked up once per step
+    private static String currentStep() {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (current.isEmpty() || current.equals(lifecycle.getCurrentTestCase())) {
+            return NONE;
+        }
+        String[] cached = lastStep.get();
+        String uuid = current.get();
+        if (!uuid.equals(cached[0])) {
+            String[] name = {NONE};
+            lifecycle.updateStep(uuid, step -> name[0] = step.getName());
+            cached[0] = uuid;
+            cached[1] = name[0];
+        }
+        return cached[1];
+    }
+
+    public static Report report() {
+        Map<String, LatencyHistogram> byCommand = new TreeMap<>();
+        Map<String, Map<String, LatencyHistogram>> byPage = new TreeMap<>();
+        Map<String, Map<String, LatencyHistogram>> byStep = new TreeMap<>();
+        histograms.forEach((tag, histogram) -> {
+            histogram.mergeInto(byCommand.computeIfAbsent(tag.command(), k -> new LatencyHistogram()));
+            histogram.mergeInto(byPage.computeIfAbsent(tag.page(), k -> new TreeMap<>())
+                    .computeIfAbsent(tag.command(), k -> new LatencyHistogram()));
+            histogram.mergeInto(byStep.computeIfAbsent(tag.step(), k -> new TreeMap<>())
+                    .computeIfAbsent(tag.command(), k -> new LatencyHistogram()));
+        });
+        return new Report(summarize(byCommand), summarizeNested(byPage), summarizeNested(byStep));
+    }
+
+    // Writes target/perf/command-latency-<timestamp>.json and attaches the same JSON to Allure
+    public static void writeReport(String suiteName) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        try {
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            String json = mapper.writeValueAsString(report());
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path file = Path.of("target", "perf", "command-latency-" + suiteName.replaceAll("\\W+", "_") + "-" + timestamp + ".json");
+            ReportWriter.writeFile(file, json);
+            ReportWriter.attach("WebDriver Command Latency", "application/json", ".json", json);
+            log.info("⏱️ WebDriver command latency report queued for: {}", file.toAbsolutePath());
+        } catch (JsonProcessingException e) {
+            log.error("❌ Unable to write command latency report", e);
+        }
+    }
+
+    private static Map<String, LatencyHistogram.Summary> summarize(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram.Summary> summaries = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> summaries.put(name, histogram.summary()));
+        return summaries;
+    }
+
+    private static Map<String, Map<String, LatencyHistogram.Summary>> summarizeNested(Map<String, Map<String, LatencyHistogram>> histograms) {
+        Map<String, Map<String, LatencyHistogram.Summary>> summaries = new LinkedHashMap<>();
+        histograms.forEach((name, perCommand) -> summaries.put(name, summarize(perCommand)));
+        return summaries;
+    }
+
+    private record Tag(String command, String page, String step) {
+    }
+
+    // all values in microseconds
+    public record Report(Map<String, LatencyHistogram.Summary> byCommand,
+                         Map<String, Map<String, LatencyHistogram.Summary>> byPage,
+                         Map<String, Map<String, LatencyHistogram.Summary>> byStep) {
+    }
+}
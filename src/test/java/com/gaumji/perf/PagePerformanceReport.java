@@ -0,0 +1,56 @@
+package com.gaumji.perf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gaumji.pages.PagePerformance;
+import com.gaumji.util.ReportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/*
+Allure side of PagePerformance: the pages a test waited for are attached to that test,
+the per page class summary is written to target/perf/page-performance-<suite>-<timestamp>.json and attached at the end of the suite.
+ */
+public class PagePerformanceReport {
+
+    private static final Logger log = LoggerFactory.getLogger(PagePerformanceReport.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    // Called after every test method on its thread, passed or failed
+    public static void attachTestCaptures() {
+        List<PagePerformance.Capture> captures = PagePerformance.collect();
+        if (captures.isEmpty()) {
+            return;
+        }
+        try {
+            ReportWriter.attach("Page Performance", "application/json", ".json", mapper.writeValueAsString(captures));
+        } catch (JsonProcessingException e) {
+            log.error("❌ Unable to attach page performance", e);
+        }
+    }
+
+    public static void writeReport(String suiteName) {
+        Map<String, Map<String, Map<String, Long>>> summary = PagePerformance.getSummary();
+        PagePerformance.reset();
+        if (summary.isEmpty()) {
+            return;
+        }
+        try {
+            String json = mapper.writeValueAsString(summary);
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path file = Path.of("target", "perf", "page-performance-" + suiteName.replaceAll("\\W+", "_") + "-" + timestamp + ".json");
+            ReportWriter.writeFile(file, json);
+            ReportWriter.attach("Page Performance Summary", "application/json", ".json", json);
+            log.info("🖥️ Page performance summary queued for: {}", file.toAbsolutePath());
+        } catch (JsonProcessingException e) {
+            log.error("❌ Unable to write page performance summary", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.gaumji.perf;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StepResult;
+import org.testng.Reporter;
+
+/*
+Hands the time of every passed Allure step (@Step methods and Allure.step blocks) to StepTimings.
+Loaded by Allure through META-INF/services, steps run on the test thread so TestNG's current result is the owning test.
+ */
+public class StepTimingListener implements StepLifecycleListener {
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        if (result.getStatus() == Status.PASSED && result.getStart() != null && result.getStop() != null) {
+            StepTimings.record(Reporter.getCurrentTestResult(), result.getName(), result.getStop() - result.getStart());
+        }
+    }
+}
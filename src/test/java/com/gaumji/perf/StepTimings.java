@@ -0,0 +1,202 @@
+package com.gaumji.perf;
+
+import com.gaumji.util.Config;
+import com.gaumji.util.ReportWriter;
+import com.gaumji.util.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+Step timing history. The passed @Step and @Test timings of a run are kept in memory and, at the end of each suite,
+appended to perf.history.dir/step-timings-<yyyy-MM>.tsv: one append-only file per month, one line per sample
+(run, time, suite, <test>, environment, browser, step, millis).
+
+Before they are appended, the timings are compared with the last perf.baseline.runs runs of the same suite,
+environment and browser. Steps whose p50 or p95 grew by more than perf.regression.threshold are logged and attached to Allure.
+Only the newest monthly files are read, as far back as the baseline needs, and nothing is read before the suite ends.
+ */
+public class StepTimings {
+
+    private static final Logger log = LoggerFactory.getLogger(StepTimings.class);
+
+    private static final String SEGMENT_PREFIX = "step-timings-";
+    private static final String SEGMENT_SUFFIX = ".tsv";
+    private static final DateTimeFormatter SEGMENT_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // fewer baseline samples than this say nothing about the step, and a few ms more is noise, not a regression
+    private static final int MIN_BASELINE_SAMPLES = 5;
+    private static final long MIN_REGRESSION_MILLIS = 50;
+
+    private static final String RUN_ID = UUID.randomUUID().toString();
+    private static final Map<String, Queue<Sample>> samplesBySuite = new ConcurrentHashMap<>();
+
+    // Called on the test thread, the result gives the suite and <test> the timing belongs to
+    public static void record(ITestResult result, String step, long millis) {
+        if (result == null || !Config.settings().perfHistoryEnabled()) {
+            return;
+        }
+        ITestContext ctx = result.getTestContext();
+        samplesBySuite.computeIfAbsent(ctx.getSuite().getName(), k -> new ConcurrentLinkedQueue<>())
+                .add(new Sample(clean(ctx.getName()), clean(step), millis));
+    }
+
+    // Compares the suite with its baseline, attaches the regressions and queues the new samples for the history file
+    public static void compareAndAppend(String suite) {
+        Queue<Sample> samples = samplesBySuite.remove(suite);
+        if (samples == null || samples.isEmpty()) {
+            return;
+        }
+        Settings settings = Config.settings();
+        String environment = clean(settings.environment());
+        String browser = clean(settings.browser());
+        Path directory = settings.perfHistoryDir();
+
+        List<Regression> regressions = compare(samples, readBaseline(directory, clean(suite), environment, browser, settings.perfBaselineRuns()),
+                settings.perfRegressionThreshold());
+        if (regressions.isEmpty()) {
+            log.info("📈 No step timing regressions in {} ({} sample(s))", suite, samples.size());
+        } else {
+            String report = regressions.stream().map(Regression::toString).collect(Collectors.joining("\n"));
+            log.warn("🐢 {} step(s) of {} got slower than their baseline:\n{}", regressions.size(), suite, report);
+            ReportWriter.attach("Step Timing Regressions", "text/plain", ".txt", report);
+        }
+
+        String prefix = String.join("\t", RUN_ID, String.valueOf(System.currentTimeMillis()), clean(suite), "");
+        String lines = samples.stream()
+                .map(sample -> prefix + String.join("\t", sample.test(), environment, browser, sample.step(), String.valueOf(sample.millis())))
+                .collect(Collectors.joining("\n", "", "\n"));
+        ReportWriter.appendFile(directory.resolve(SEGMENT_PREFIX + YearMonth.now().format(SEGMENT_MONTH) + SEGMENT_SUFFIX), lines);
+    }
+
+    private static List<Regression> compare(Queue<Sample> samples, Map<StepKey, LatencyHistogram> baseline, double threshold) {
+        Map<StepKey, LatencyHistogram> current = new TreeMap<>();
+        samples.forEach(sample -> current.computeIfAbsent(new StepKey(sample.test(), sample.step()), k -> new LatencyHistogram())
+                .record(sample.millis() * 1_000));
+
+        List<Regression> regressions = new ArrayList<>();
+        current.forEach((key, histogram) -> {
+            LatencyHistogram before = baseline.get(key);
+            if (before == null || before.count() < MIN_BASELINE_SAMPLES) {
+                return;
+            }
+            // the histogram works in microseconds
+            long p50Before = before.percentile(50) / 1_000, p50Now = histogram.percentile(50) / 1_000;
+            long p95Before = before.percentile(95) / 1_000, p95Now = histogram.percentile(95) / 1_000;
+            if (isRegression(p50Before, p50Now, threshold) || isRegression(p95Before, p95Now, threshold)) {
+                regressions.add(new Regression(key, p50Before, p50Now, p95Before, p95Now));
+            }
+        });
+        return regressions;
+    }
+
+    private static boolean isRegression(long before, long now, double threshold) {
+        return now - before >= MIN_REGRESSION_MILLIS && now > before * (1 + threshold);
+    }
+
+    // Samples of the newest runs of this suite, environment and browser, reading monthly files newest first
+    private static Map<StepKey, LatencyHistogram> readBaseline(Path directory, String suite, String environment, String browser, int runs) {
+        Map<String, List<Sample>> byRun = new LinkedHashMap<>();
+        for (Path segment : segmentsNewestFirst(directory)) {
+            Map<String, List<Sample>> inSegment = new LinkedHashMap<>();
+            try (BufferedReader reader = Files.newBufferedReader(segment)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\t");
+                    if (fields.length != 8 || !fields[2].equals(suite) || !fields[4].equals(environment) || !fields[5].equals(browser)) {
+                        continue;
+                    }
+                    try {
+                        inSegment.computeIfAbsent(fields[0], k -> new ArrayList<>())
+                                .add(new Sample(fields[3], fields[6], Long.parseLong(fields[7])));
+                    } catch (NumberFormatException e) {
+                        // a line cut short by a crashed run
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("⚠️ Unable to read step timing history {}: {}", segment, e.getMessage());
+                continue;
+            }
+            // lines are in the order the runs ended, newest runs first from here on
+            List<String> runIds = new ArrayList<>(inSegment.keySet());
+            for (int i = runIds.size() - 1; i >= 0 && byRun.size() < runs; i--) {
+                byRun.computeIfAbsent(runIds.get(i), k -> new ArrayList<>()).addAll(inSegment.get(runIds.get(i)));
+            }
+            if (byRun.size() >= runs) {
+                break;
+            }
+        }
+        Map<StepKey, LatencyHistogram> baseline = new TreeMap<>();
+        byRun.values().forEach(run -> run.forEach(sample -> baseline
+                .computeIfAbsent(new StepKey(sample.test(), sample.step()), k -> new LatencyHistogram())
+                .record(sample.millis() * 1_000)));
+        return baseline;
+    }
+
+    private static List<Path> segmentsNewestFirst(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    // yyyy-MM sorts by date
+                    .sorted((a, b) -> b.getFileName().toString().compareTo(a.getFileName().toString()))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("⚠️ Unable to list step timing history in {}: {}", directory, e.getMessage());
+            return List.of();
+        }
+    }
+
+    // tabs and line breaks would break the line format
+    private static String clean(String value) {
+        return value == null ? "-" : value.replaceAll("[\\t\\r\\n]+", " ");
+    }
+
+    private record Sample(String test, String step, long millis) {
+    }
+
+    private record StepKey(String test, String step) implements Comparable<StepKey> {
+
+        @Override
+        public int compareTo(StepKey other) {
+            int byTest = test.compareTo(other.test);
+            return byTest != 0 ? byTest : step.compareTo(other.step);
+        }
+    }
+
+    private record Regression(StepKey key, long p50Before, long p50Now, long p95Before, long p95Now) {
+
+        @Override
+        public String toString() {
+            return String.format("%s > %s: p50 %dms -> %dms (%+d%%), p95 %dms -> %dms (%+d%%)", key.test(), key.step(),
+                    p50Before, p50Now, change(p50Before, p50Now), p95Before, p95Now, change(p95Before, p95Now));
+        }
+
+        private static long change(long before, long now) {
+            return before == 0 ? 0 : Math.round(100.0 * (now - before) / before);
+        }
+    }
+}
@@ -1,106 +1,286 @@
 package com.gaumji.tests;
 
+import com.gaumji.driver.AssetInterceptor;
+import com.gaumji.driver.BrowserProfile;
+import com.gaumji.driver.DriverBackend;
+import com.gaumji.driver.DriverContext;
+import com.gaumji.driver.DriverKey;
+import com.gaumji.driver.DriverPool;
+import com.gaumji.driver.SessionStateCache;
+import com.gaumji.driver.GridScheduler;
+import com.gaumji.driver.WireTransport;
+import com.gaumji.execution.TestDurations;
+import com.gaumji.listener.ScreenshotPipeline;
 import com.gaumji.listener.TestListener;
+import com.gaumji.pages.ActionPipeline;
+import com.gaumji.pages.CachingElementLocatorFactory;
+import com.gaumji.pages.PagePerformance;
+import com.gaumji.pages.PageSnapshot;
+import com.gaumji.perf.CommandLatencyRecorder;
+import com.gaumji.perf.PagePerformanceReport;
+import com.gaumji.perf.StepTimings;
 import com.gaumji.util.AllureEnvironmentWriter;
 import com.gaumji.util.Config;
 import com.gaumji.util.Constants;
+import com.gaumji.util.ReportWriter;
+import com.gaumji.util.Settings;
 import com.google.common.util.concurrent.Uninterruptibles;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import io.qameta.allure.Allure;
 import org.openqa.selenium.Capabilities;
-import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
 import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.annotations.*;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
 
-import java.net.MalformedURLException;
-import java.net.URI;
+import java.net.URL;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Listeners({TestListener.class})
 public abstract class AbstractTest {
-    protected WebDriver driver;
     private static final Logger log = LoggerFactory.getLogger(AbstractTest.class);
 
     @BeforeSuite
     public void setUpConfiguration() {
+        // fails the whole suite right here when a value is missing or invalid
         Config.initialize();
+        Settings settings = Config.settings();
+        // page objects live outside the test config, they read this flag from the system properties
+        System.setProperty(ActionPipeline.STRICT_PROPERTY, String.valueOf(settings.actionsStrict()));
+        System.setProperty(PagePerformance.ENABLED_PROPERTY, String.valueOf(settings.metricsPagesEnabled()));
+        ReportWriter.configure(settings.reportingQueueSize());
+        ScreenshotPipeline.configure(settings.screenshotsMaxWidth(), settings.screenshotsFormat());
+        DriverPool.configure(settings.driverPoolEnabled(), settings.driverPoolMaxUses());
+        GridScheduler.configure(settings.gridSchedulerEnabled(), settings.gridQueueTimeout());
+        WireTransport.configure(settings.transportMode(), settings.transportFile(), settings.transportLatencyScale());
+        AssetInterceptor.configure(settings.networkInterceptEnabled(), settings.networkBlockPatterns(), settings.networkCacheMaxBytes());
+
+        XmlSuite suite = currentSuite().getXmlSuite();
+        // data set rows run on the data provider threads, as many at once as there are sessions
+        settings.threadCount().ifPresent(suite::setDataProviderThreadCount);
+        // an unknown browserProfile parameter fails here rather than when its <test> starts
+        suite.getTests().forEach(test -> getBrowserProfile(test.getParameter(Constants.BROWSER_PROFILE_PARAMETER)));
+
+        // Start the browsers now so they are ready by the time the first @BeforeTest asks for one
+        if (settings.driverPoolPrewarm()) {
+            boolean isRemote = isRemote();
+            String browser = getBrowser();
+            // sessions of the suite level profile, <test> blocks with their own profile start theirs on demand
+            Capabilities capabilities = getCapabilities(browser, getBrowserProfile(suite.getParameter(Constants.BROWSER_PROFILE_PARAMETER)));
+            DriverPool.prewarm(DriverKey.of(browser, isRemote, capabilities),
+                    getExpectedSessions(suite),
+                    () -> createDriver(browser, isRemote, capabilities));
+        }
     }
 
     @BeforeTest
-    public void setDriver(ITestContext ctx) throws MalformedURLException {
-        boolean isRemote = Boolean.parseBoolean(Config.get(Constants.GRID_ENABLED));
-        String browser = System.getProperty("browser");
-        if (browser == null) {
-            browser = Config.get(Constants.BROWSER);
+    public void setDriver(ITestContext ctx) {
+        if (isDataSetTest(ctx.getCurrentXmlTest())) {
+            log.info("📚 Data set <test>, every row gets its own session");
+            return;
+        }
+        WebDriver driver = acquireDriver(ctx.getCurrentXmlTest());
+        AssetInterceptor.begin(driver);
+        DriverContext.set(driver);
+        ctx.setAttribute(Constants.DRIVER, driver);
+    }
+
+    // Data set rows run in parallel on the data provider threads, each row borrows a session for its flow
+    @BeforeMethod(alwaysRun = true)
+    public void setRowDriver(ITestContext ctx, ITestResult result) {
+        if (!isDataSetTest(ctx.getCurrentXmlTest())) {
+            return;
         }
+        WebDriver driver = acquireDriver(ctx.getCurrentXmlTest());
+        AssetInterceptor.begin(driver);
+        DriverContext.set(driver);
+        result.setAttribute(Constants.DRIVER, driver);
+    }
+
+    // runs after the listeners, so a failed row still has its session for the screenshot
+    @AfterMethod(alwaysRun = true)
+    public void releaseRowDriver(ITestResult result) {
+        if (result.getAttribute(Constants.DRIVER) instanceof WebDriver driver) {
+            if (driver instanceof HasCapabilities) {
+                AllureEnvironmentWriter.writeEnvironmentInfo((HasCapabilities) driver);
+            }
+            AssetInterceptor.end(result.getTestContext().getName() + " > " + result.getName() + " " + Arrays.toString(result.getParameters()), driver);
+            DriverPool.release(driver);
+            DriverContext.remove();
+            result.removeAttribute(Constants.DRIVER);
+        }
+    }
+
+    /*
+    Moves the <test> to another session, used by CheckpointRetryAnalyzer before a failed step runs again.
+    The failed session goes back to the pool (recycled if it can't be reset). Data set rows get theirs in @BeforeMethod, returns null for them.
+     */
+    public WebDriver renewDriver(ITestContext ctx) {
+        if (!(ctx.getAttribute(Constants.DRIVER) instanceof WebDriver current)) {
+            return null;
+        }
+        AssetInterceptor.end(ctx.getName(), current);
+        DriverPool.release(current);
+        WebDriver driver = acquireDriver(ctx.getCurrentXmlTest());
+        AssetInterceptor.begin(driver);
+        DriverContext.set(driver);
+        ctx.setAttribute(Constants.DRIVER, driver);
+        return driver;
+    }
+
+    private WebDriver acquireDriver(XmlTest test) {
+        boolean isRemote = isRemote();
+        String browser = getBrowser();
+        BrowserProfile profile = getBrowserProfile(test.getParameter(Constants.BROWSER_PROFILE_PARAMETER));
 
         log.info("🔧 Driver mode: {}", isRemote ? "Remote Grid" : "Local");
-        log.info("🌐 Browser selected: {}", browser);
+        log.info("🌐 Browser selected: {} ({})", browser, profile);
 
-        this.driver = isRemote ? getRemoteDriver(browser) : getLocalDriver(browser);
-        ctx.setAttribute(Constants.DRIVER, this.driver);
+        // the profile is part of the capabilities, so pooled sessions are only shared within one profile
+        Capabilities capabilities = getCapabilities(browser, profile);
+        DriverKey key = DriverKey.of(browser, isRemote, capabilities);
+        return DriverPool.acquire(key, () -> createDriver(browser, isRemote, capabilities));
     }
 
-    // ✅ THIS METHOD HAS BEEN ADDED BACK
-    public void setBrowserAsAllureParameter() {
-        String browser = System.getProperty("browser");
-        if (browser != null && !browser.isEmpty()) {
-            Allure.parameter("Browser", browser);
+    // TestNG (7.11) refuses parameters on @BeforeSuite / @AfterSuite ("Native Injection is NOT supported"),
+    // ITestContext included, so the suite comes from the result of the configuration method that is running
+    private static ISuite currentSuite() {
+        return Reporter.getCurrentTestResult().getTestContext().getSuite();
+    }
+
+    private static boolean isDataSetTest(XmlTest test) {
+        return test != null && test.getParameter(Constants.DATA_SET) != null;
+    }
+
+    // Each flow gets its own session, there is no driver shared through the test instance
+    protected WebDriver getDriver() {
+        return DriverContext.get();
+    }
+
+    // a replayed run always goes through the remote driver, the recording stands in for the grid
+    // htmlunit lives in this JVM, it never goes to the grid
+    private boolean isRemote() {
+        if (!DriverBackend.of(getBrowser()).isRealBrowser()) {
+            return false;
         }
+        return WireTransport.isReplay() || Config.settings().gridEnabled();
+    }
+
+    private String getBrowser() {
+        return Config.settings().browser();
+    }
+
+    // a browserProfile parameter on the <test> or <suite> wins over browser.profile
+    private BrowserProfile getBrowserProfile(String parameter) {
+        return parameter != null ? BrowserProfile.of(parameter) : Config.settings().browserProfile();
     }
 
-    protected WebDriver getRemoteDriver(String browser) throws MalformedURLException {
-        Capabilities capabilities;
-        if (browser.equalsIgnoreCase(Constants.FIREFOX)) {
-            capabilities = new FirefoxOptions();
-        } else {
-            capabilities = new ChromeOptions();
+    // As many sessions as <test> blocks (or data set rows) can run at the same time
+    private int getExpectedSessions(XmlSuite suite) {
+        if (suite.getTests().stream().anyMatch(AbstractTest::isDataSetTest)) {
+            return suite.getDataProviderThreadCount();
+        }
+        if (suite.getParallel() == null || suite.getParallel() == XmlSuite.ParallelMode.NONE) {
+            return Math.min(1, suite.getTests().size());
         }
-        String urlFormat = Config.get(Constants.GRID_URL_FORMAT);
-        String hubHost = Config.get(Constants.GRID_HUB_HOST);
-        String url = String.format(urlFormat, hubHost);
+        int threadCount = Config.settings().threadCount().orElse(suite.getThreadCount());
+        return Math.min(threadCount, suite.getTests().size());
+    }
+
+    private WebDriver createDriver(String browser, boolean isRemote, Capabilities capabilities) {
+        WebDriver driver = isRemote ? getRemoteDriver(browser, capabilities) : getLocalDriver(browser, capabilities);
+        // DevTools has to be attached to the session itself, not to a decorator
+        driver = AssetInterceptor.attach(driver, browser);
+        // every command of the session is timed from here on
+        return Config.settings().metricsCommandsEnabled()
+                ? CommandLatencyRecorder.decorate(driver)
+                : driver;
+    }
+
+    // ✅ THIS METHOD HAS BEEN ADDED BACK
+    public void setBrowserAsAllureParameter() {
+        Allure.parameter("Browser", getBrowser());
+    }
+
+    protected Capabilities getCapabilities(String browser, BrowserProfile profile) {
+        return profile.capabilities(browser);
+    }
+
+    protected WebDriver getRemoteDriver(String browser, Capabilities capabilities) {
+        URL url = Config.settings().gridUrl();
         log.info("🔗 Running in remote mode with URL: {}", url);
         log.info("🚀 Launching remote browser: {}", browser);
-        return new RemoteWebDriver(URI.create(url).toURL(), capabilities);
+        HttpCommandExecutor executor = new HttpCommandExecutor(Map.of(), url, WireTransport.clientFactory());
+        if (WireTransport.isReplay()) {
+            return new RemoteWebDriver(executor, capabilities);
+        }
+        // queue here rather than inside the grid, the wait is reported apart from the test time
+        return GridScheduler.withSlot(url.toString(), capabilities.getBrowserName(), () -> new RemoteWebDriver(executor, capabilities));
     }
 
-    protected WebDriver getLocalDriver(String browser) {
+    // the window size comes with the profile's launch arguments
+    protected WebDriver getLocalDriver(String browser, Capabilities capabilities) {
         log.info("💻 Running in local mode. Browser: {}", browser);
-        WebDriver localDriver;
-        if (browser.equalsIgnoreCase(Constants.FIREFOX)) {
-            WebDriverManager.firefoxdriver().setup();
-            localDriver = new FirefoxDriver();
-        } else {
-            WebDriverManager.chromedriver().setup();
-            localDriver = new ChromeDriver();
-        }
-        localDriver.manage().window().setSize(new Dimension(1920, 1080));
-        return localDriver;
+        return DriverBackend.of(browser).startLocal(capabilities);
     }
 
     @AfterTest
-    public void tearDown() {
-        if (this.driver != null) {
+    public void tearDown(ITestContext ctx) {
+        WebDriver driver = getDriver();
+        if (driver != null) {
             // Write environment info before quitting the driver
-            if (this.driver instanceof RemoteWebDriver) {
-                AllureEnvironmentWriter.writeEnvironmentInfo((RemoteWebDriver) this.driver);
+            if (driver instanceof HasCapabilities) {
+                AllureEnvironmentWriter.writeEnvironmentInfo((HasCapabilities) driver);
             }
-            log.info("🧹 Quitting browser session.");
-            this.driver.quit();
+            AssetInterceptor.end(ctx.getName(), driver);
+            log.info("🧹 Returning browser session to the pool.");
+            DriverPool.release(driver);
         }
+        DriverContext.remove();
+        ctx.removeAttribute(Constants.DRIVER);
+        ctx.removeAttribute(Constants.CHECKPOINT);
+        TestDurations.record(ctx);
     }
 
     @AfterSuite
     public void tearDownSuite() {
-        // This method is now empty but can be kept for future suite-level teardown logic.
+        DriverPool.PoolStats stats = DriverPool.stats();
+        log.info("📊 Driver pool stats: {}", stats);
+        ReportWriter.attach("Driver Pool Stats", "text/plain", ".txt", stats.toString());
+        GridScheduler.QueueStats queueStats = GridScheduler.stats();
+        log.info("🚦 Grid queue stats: {}", queueStats);
+        ReportWriter.attach("Grid Queue Stats", "text/plain", ".txt", queueStats.toString());
+        Map<String, AssetInterceptor.Savings> networkSavings = AssetInterceptor.report();
+        if (!networkSavings.isEmpty()) {
+            log.info("🛡️ Network savings per test: {}", networkSavings);
+            ReportWriter.attach("Network Savings", "text/plain", ".txt", networkSavings.entrySet().stream()
+                    .map(entry -> entry.getKey() + ": " + entry.getValue())
+                    .collect(Collectors.joining("\n")));
+        }
+        log.info("🔐 Session state cache: {}", SessionStateCache.stats());
+        log.info("📸 Round-trips saved by page snapshots: {}", PageSnapshot.getRoundTripsSaved());
+        log.info("🔎 Element lookup cache per field: {}", CachingElementLocatorFactory.getStats());
+        String suiteName = currentSuite().getName();
+        CommandLatencyRecorder.writeReport(suiteName);
+        PagePerformanceReport.writeReport(suiteName);
+        StepTimings.compareAndAppend(suiteName);
+        DriverPool.shutdown();
+        // after shutdown, so the quit commands are part of the recording
+        WireTransport.close();
+        ScreenshotPipeline.flush();
+        TestDurations.save();
+        ReportWriter.flush();
     }
 
     @AfterMethod(enabled = false)
@@ -0,0 +1,90 @@
+package com.gaumji.tests.flightreservations;
+
+import com.gaumji.pages.flightreservation.*;
+import com.gaumji.tests.AbstractTest;
+import com.gaumji.tests.flightreservations.model.FlightReservationTestData;
+import com.gaumji.util.Config;
+import com.gaumji.util.Constants;
+import com.gaumji.util.DataRow;
+import com.gaumji.util.DataSet;
+import io.qameta.allure.*;
+import io.qameta.allure.testng.Tag;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.*;
+
+import java.util.Iterator;
+
+/*
+The booking flow of FlightReservationTest driven by a data set (<parameter name="dataSet">, a .jsonl file or a directory).
+Every row is one complete booking on its own pooled session, rows run in parallel on the data provider threads.
+ */
+@Epic("Flight Reservation Module")
+@Feature("E2E Flight Booking Flow")
+@Owner("lalit.kumar")
+@Tag("regression")
+@Tag("grid")
+public class FlightReservationDataSetTest extends AbstractTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightReservationDataSetTest.class);
+
+    @DataProvider(name = "passengers", parallel = true)
+    public Iterator<Object[]> passengers(ITestContext ctx) {
+        String dataSet = ctx.getCurrentXmlTest().getParameter(Constants.DATA_SET);
+        log.info("📚 Streaming passengers from: {}", dataSet);
+        return DataSet.rows(dataSet, FlightReservationTestData.class);
+    }
+
+    @Test(dataProvider = "passengers", description = "Register, search, select and book a flight")
+    @Severity(SeverityLevel.BLOCKER)
+    @Story("Book Flight")
+    @Description("Complete booking for one passenger data set row and check the price")
+    public void bookingTest(DataRow<FlightReservationTestData> row) {
+        setBrowserAsAllureParameter();
+        row.attach();
+        FlightReservationTestData testData = row.get();
+        WebDriver driver = getDriver();
+        log.info("🛫 Booking for {}", row);
+
+        Allure.step("User registration", () -> {
+            RegistrationPage registrationPage = new RegistrationPage(driver);
+            registrationPage.goTo(Config.settings().flightReservationUrl());
+            Assert.assertTrue(registrationPage.isAt(), "Registration page did not load.");
+            registrationPage.enterUserDetails(testData.firstname(), testData.lastname());
+            registrationPage.enterUserCredentials(testData.email(), testData.password());
+            registrationPage.enterUserAddress(testData.street(), testData.city(), testData.zip());
+            registrationPage.register();
+        });
+
+        Allure.step("Registration confirmation", () -> {
+            RegistrationConfirmationPage confirmationPage = new RegistrationConfirmationPage(driver);
+            Assert.assertTrue(confirmationPage.isAt(), "Registration Confirmation page did not load.");
+            Assert.assertEquals(confirmationPage.getFirstName(), testData.firstname(), "First name doesn't match.");
+            confirmationPage.goToFlightSearch();
+        });
+
+        Allure.step("Flight search", () -> {
+            FlightsSearchPage searchPage = new FlightsSearchPage(driver);
+            Assert.assertTrue(searchPage.isAt(), "Flights Search page did not load.");
+            searchPage.selectPassengers(testData.passengersCount());
+            searchPage.searchForFlights();
+        });
+
+        Allure.step("Flight selection", () -> {
+            FlightClassSelectionPage classSelectionPage = new FlightClassSelectionPage(driver);
+            Assert.assertTrue(classSelectionPage.isAt(), "Flight class selection page did not load.");
+            classSelectionPage.selectFlights();
+            classSelectionPage.confirmFlights();
+        });
+
+        Allure.step("Booking confirmation", () -> {
+            FlightConfirmationPage confirmationPage = new FlightConfirmationPage(driver);
+            Assert.assertTrue(confirmationPage.isAt(), "Flight confirmation page did not load.");
+            Assert.assertEquals(confirmationPage.getPrice(), testData.expectedPrice(), "Price mismatch on confirmation.");
+        });
+        log.info("✅ Booking completed for {}", row);
+    }
+}
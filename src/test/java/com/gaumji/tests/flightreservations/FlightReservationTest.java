@@ -1,22 +1,25 @@
 package com.gaumji.tests.flightreservations;
 
+import com.gaumji.listener.CheckpointRetryAnalyzer;
+import com.gaumji.listener.Checkpoints;
+import com.gaumji.pages.AbstractPage;
 import com.gaumji.pages.flightreservation.*;
 import com.gaumji.tests.AbstractTest;
 import com.gaumji.tests.flightreservations.model.FlightReservationTestData;
 import com.gaumji.util.Config;
-import com.gaumji.util.Constants;
-import com.gaumji.util.JsonUtil;
-import com.gaumji.util.ResourceLoader;
+import com.gaumji.util.TestDataRegistry;
 import io.qameta.allure.*;
 import io.qameta.allure.testng.Tag;
+import org.openqa.selenium.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.ITestContext;
 import org.testng.annotations.*;
 
-import java.io.InputStream;
-
+// a flaky step is retried from the checkpoint of the step before it, the steps that passed don't run again.
+// The app shows every page on the same url and keeps the passengers and flights picked in its scripts,
+// so each step declares how a resumed session goes through it again (see Checkpoints.reentry)
 @Epic("Flight Reservation Module")
 @Feature("E2E Flight Booking Flow")
 @Owner("lalit.kumar")
@@ -33,23 +36,13 @@ public class FlightReservationTest extends AbstractTest {
         log.info("📦 Loading test data from: {}", testDataPath);
 
         // ✅ Attach JSON to Allure
-        attachTestData(testDataPath);
-
-        // ✅ Deserialize into testData object
-        this.testData = JsonUtil.getData(testDataPath, FlightReservationTestData.class);
-    }
+        TestDataRegistry.attach(testDataPath);
 
-    @Attachment(value = "Test Data", type = "application/json")
-    public String attachTestData(String path) {
-        try (InputStream is = ResourceLoader.getResource(path)) {
-            return new String(is.readAllBytes());
-        } catch (Exception e) {
-            log.error("❌ Failed to attach test data: {}", path, e);
-            return "Failed to attach test data from: " + path;
-        }
+        // ✅ Parsed once per JVM, every <test> with the same file shares the record
+        this.testData = TestDataRegistry.get(testDataPath, FlightReservationTestData.class);
     }
 
-    @Test(description = "User Registration with valid personal, contact, and login credentials")
+    @Test(retryAnalyzer = CheckpointRetryAnalyzer.class, description = "User Registration with valid personal, contact, and login credentials")
     @Severity(SeverityLevel.BLOCKER)
     @Story("User Sign-Up")
     @Description("Register a user and verify that registration succeeds.")
@@ -57,65 +50,90 @@ public class FlightReservationTest extends AbstractTest {
         // ✅ FIX: Add this line to set the browser parameter for the Allure report
         setBrowserAsAllureParameter();
         log.info("🛫 Starting user registration test...");
-        RegistrationPage registrationPage = new RegistrationPage(driver);
-        registrationPage.goTo(Config.get(Constants.FLIGHT_RESERVATION_URL));
+        RegistrationPage registrationPage = new RegistrationPage(getDriver());
+        registrationPage.goTo(Config.settings().flightReservationUrl());
         Assert.assertTrue(registrationPage.isAt(), "Registration page did not load.");
 
-        registrationPage.enterUserDetails(testData.firstname(), testData.lastname());
-        registrationPage.enterUserCredentials(testData.email(), testData.password());
-        registrationPage.enterUserAddress(testData.street(), testData.city(), testData.zip());
-        registrationPage.register();
+        register(registrationPage);
+        Checkpoints.reentry(driver -> register(shown(new RegistrationPage(driver))));
         log.info("✅ User registration completed successfully.");
     }
 
-    @Test(dependsOnMethods = "userRegistrationTest", description = "Registration confirmation screen validation")
+    @Test(dependsOnMethods = "userRegistrationTest", retryAnalyzer = CheckpointRetryAnalyzer.class, description = "Registration confirmation screen validation")
     @Severity(SeverityLevel.CRITICAL)
     @Story("Registration Verification")
     @Description("Confirm registration and validate first name")
     public void registrationConfirmationTest() {
         log.info("🔍 Validating registration confirmation...");
-        RegistrationConfirmationPage confirmationPage = new RegistrationConfirmationPage(driver);
+        RegistrationConfirmationPage confirmationPage = new RegistrationConfirmationPage(getDriver());
         Assert.assertTrue(confirmationPage.isAt(), "Registration Confirmation page did not load.");
         Assert.assertEquals(confirmationPage.getFirstName(), testData.firstname(), "First name doesn't match.");
         confirmationPage.goToFlightSearch();
+        Checkpoints.reentry(driver -> shown(new RegistrationConfirmationPage(driver)).goToFlightSearch());
     }
 
-    @Test(dependsOnMethods = "registrationConfirmationTest", description = "Passenger selection and flight search")
+    @Test(dependsOnMethods = "registrationConfirmationTest", retryAnalyzer = CheckpointRetryAnalyzer.class, description = "Passenger selection and flight search")
     @Severity(SeverityLevel.NORMAL)
     @Story("Search Flights")
     @Description("Select passengers and search for available flights")
     public void flightSearchTest() {
         log.info("🔍 Searching for flights...");
-        FlightsSearchPage searchPage = new FlightsSearchPage(driver);
+        FlightsSearchPage searchPage = new FlightsSearchPage(getDriver());
         Assert.assertTrue(searchPage.isAt(), "Flights Search page did not load.");
 
-        searchPage.selectPassengers(testData.passengersCount());
-        searchPage.searchForFlights();
+        searchFlights(searchPage);
+        Checkpoints.reentry(driver -> searchFlights(shown(new FlightsSearchPage(driver))));
     }
 
-    @Test(dependsOnMethods = "flightSearchTest", description = "Flight class selection and confirmation")
+    @Test(dependsOnMethods = "flightSearchTest", retryAnalyzer = CheckpointRetryAnalyzer.class, description = "Flight class selection and confirmation")
     @Severity(SeverityLevel.NORMAL)
     @Story("Select Flights")
     @Description("Select departure and arrival flights and confirm selection")
     public void flightsSelectionTest() {
         log.info("✈️ Selecting flight class...");
-        FlightClassSelectionPage classSelectionPage = new FlightClassSelectionPage(driver);
+        FlightClassSelectionPage classSelectionPage = new FlightClassSelectionPage(getDriver());
         Assert.assertTrue(classSelectionPage.isAt(), "Flight class selection page did not load.");
 
-        classSelectionPage.selectFlights();
-        classSelectionPage.confirmFlights();
+        selectFlights(classSelectionPage);
+        Checkpoints.reentry(driver -> selectFlights(shown(new FlightClassSelectionPage(driver))));
     }
 
-    @Test(dependsOnMethods = "flightsSelectionTest", description = "Flight booking confirmation and price verification")
+    @Test(dependsOnMethods = "flightsSelectionTest", retryAnalyzer = CheckpointRetryAnalyzer.class, description = "Flight booking confirmation and price verification")
     @Severity(SeverityLevel.CRITICAL)
     @Story("Confirm Booking")
     @Description("Validate final booking and check price")
     public void flightReservationConfirmationTest() {
         log.info("✅ Verifying flight reservation confirmation...");
-        FlightConfirmationPage confirmationPage = new FlightConfirmationPage(driver);
+        FlightConfirmationPage confirmationPage = new FlightConfirmationPage(getDriver());
         Assert.assertTrue(confirmationPage.isAt(), "Flight confirmation page did not load.");
 
         String actualPrice = confirmationPage.getPrice();
         Assert.assertEquals(actualPrice, testData.expectedPrice(), "Price mismatch on confirmation.");
     }
+
+    private void register(RegistrationPage registrationPage) {
+        registrationPage.enterUserDetails(testData.firstname(), testData.lastname());
+        registrationPage.enterUserCredentials(testData.email(), testData.password());
+        registrationPage.enterUserAddress(testData.street(), testData.city(), testData.zip());
+        registrationPage.register();
+    }
+
+    // the passenger count picked here is part of the price the last step checks
+    private void searchFlights(FlightsSearchPage searchPage) {
+        searchPage.selectPassengers(testData.passengersCount());
+        searchPage.searchForFlights();
+    }
+
+    private void selectFlights(FlightClassSelectionPage classSelectionPage) {
+        classSelectionPage.selectFlights();
+        classSelectionPage.confirmFlights();
+    }
+
+    // a resumed session waits for every page it goes through, a missing one ends the retry (see CheckpointRetryAnalyzer)
+    private static <T extends AbstractPage> T shown(T page) {
+        if (!page.isAt()) {
+            throw new NotFoundException(page.getClass().getSimpleName() + " is not shown");
+        }
+        return page;
+    }
 }
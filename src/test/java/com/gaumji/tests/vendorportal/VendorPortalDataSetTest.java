@@ -0,0 +1,79 @@
+package com.gaumji.tests.vendorportal;
+
+import com.gaumji.driver.SessionStateCache;
+import com.gaumji.pages.vendorportal.DashboardPage;
+import com.gaumji.pages.vendorportal.LoginPage;
+import com.gaumji.tests.AbstractTest;
+import com.gaumji.tests.vendorportal.model.VendorPortalTestData;
+import com.gaumji.util.Config;
+import com.gaumji.util.Constants;
+import com.gaumji.util.DataRow;
+import com.gaumji.util.DataSet;
+import io.qameta.allure.*;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.*;
+
+import java.util.Iterator;
+
+/*
+The login, dashboard and logout flow of VendorPortalTest driven by a data set (<parameter name="dataSet">).
+Every row runs the whole flow on its own pooled session, rows run in parallel on the data provider threads.
+A row starts from the cached login of its vendor when there is one (see SessionStateCache),
+rows of the same vendor take turns since the logout of one would end the session of the others.
+ */
+@Epic("Vendor Portal")
+@Feature("Vendor Dashboard and Logout Flow")
+public class VendorPortalDataSetTest extends AbstractTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VendorPortalDataSetTest.class);
+
+    @DataProvider(name = "vendors", parallel = true)
+    public Iterator<Object[]> vendors(ITestContext ctx) {
+        String dataSet = ctx.getCurrentXmlTest().getParameter(Constants.DATA_SET);
+        log.info("📚 Streaming vendors from: {}", dataSet);
+        return DataSet.rows(dataSet, VendorPortalTestData.class);
+    }
+
+    @Test(dataProvider = "vendors")
+    @Story("Vendor Session")
+    @Severity(SeverityLevel.BLOCKER)
+    @Description("Login, verify dashboard metrics and order search, then logout for one vendor data set row.")
+    public void vendorSessionTest(DataRow<VendorPortalTestData> row) {
+        setBrowserAsAllureParameter();
+        row.attach();
+        VendorPortalTestData testData = row.get();
+        WebDriver driver = getDriver();
+        LoginPage loginPage = new LoginPage(driver);
+        DashboardPage dashboardPage = new DashboardPage(driver);
+
+        SessionStateCache.Lease lease = Allure.step("Login", () -> SessionStateCache.authenticate(driver, testData.username(), () -> {
+            loginPage.goTo(Config.settings().vendorPortalUrl());
+            Assert.assertTrue(loginPage.isAt(), "Login page should be loaded.");
+            log.info("Performing login with user: {}", testData.username());
+            loginPage.login(testData.username(), testData.password());
+        }, dashboardPage::isAt));
+        try (lease) {
+            Assert.assertTrue(lease.authenticated(), "Dashboard should be loaded after login.");
+
+            Allure.step("Dashboard verification", () -> {
+                Assert.assertTrue(dashboardPage.isAt(), "Dashboard should be loaded.");
+                DashboardPage.Metrics metrics = dashboardPage.getMetrics();
+                Assert.assertEquals(metrics.monthlyEarning(), testData.monthlyEarning(), "Monthly earnings mismatch");
+                Assert.assertEquals(metrics.annualEarning(), testData.annualEarning(), "Annual earnings mismatch");
+                Assert.assertEquals(metrics.profitMargin(), testData.profitMargin(), "Profit margin mismatch");
+                Assert.assertEquals(metrics.availableInventory(), testData.availableInventory(), "Inventory mismatch");
+                dashboardPage.searchOrderHistory(testData.searchKeyword());
+                Assert.assertEquals(dashboardPage.getResultsCount(), testData.searchResultsCount(), "Search results count mismatch");
+            });
+
+            Allure.step("Logout", () -> {
+                dashboardPage.logout();
+                Assert.assertTrue(loginPage.isAt(), "User should be redirected to login page after logout.");
+            });
+        }
+    }
+}
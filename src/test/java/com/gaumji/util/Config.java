@@ -4,58 +4,96 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
+/*
+Configuration is read once per run and kept as an immutable snapshot, reads take no lock.
+Later sources override earlier ones: default.properties, config/<env>.properties (-Denv=qa),
+environment variables (SELENIUM_GRID_HUBHOST for selenium.grid.hubHost, plus HUB_HOST, BROWSER and THREAD_COUNT as used by docker)
+and finally system properties (-Dbrowser=firefox).
+ */
 public class Config {
 
     private static final Logger log = LoggerFactory.getLogger(Config.class);
     private static final String DEFAULT_PROPERTIES = "config/default.properties";
-    private static Properties properties;
 
+    // names used by docker-compose and runner.sh
+    private static final Map<String, String> ENVIRONMENT_ALIASES = Map.of(
+            "HUB_HOST", Constants.GRID_HUB_HOST,
+            "BROWSER", Constants.BROWSER,
+            "THREAD_COUNT", Constants.THREAD_COUNT);
+
+    private static volatile Map<String, String> values = Map.of();
+    private static volatile Settings settings;
+
+    // Throws IllegalStateException with every invalid or missing value, so a bad setup fails before the first session
     public static void initialize() {
-        // load default properties
-        // ✅ CHANGE: The loadProperties method now requires a path argument
-        properties = loadProperties(DEFAULT_PROPERTIES);
-
-        // ✅ ADDITION: Start of new logic to load environment-specific properties
-        String environment = System.getProperty("env"); // Reads the -Denv=qa property
-        if (environment != null && !environment.trim().isEmpty()) {
-            log.info("Loading properties for environment: {}", environment);
-            String envPropertiesPath = "config/" + environment.toLowerCase() + ".properties";
-            Properties envProperties = loadProperties(envPropertiesPath);
+        initialize(System.getenv(), System.getProperties());
+    }
+
+    static synchronized void initialize(Map<String, String> environment, Properties systemProperties) {
+        Map<String, String> merged = new TreeMap<>();
+        loadProperties(DEFAULT_PROPERTIES).forEach((key, value) -> merged.put(key.toString(), value.toString()));
+
+        String env = systemProperties.getProperty(Constants.ENVIRONMENT);
+        if (env != null && !env.isBlank()) {
+            log.info("Loading properties for environment: {}", env);
             // This will override any default properties with the ones from the environment file
-            properties.putAll(envProperties);
+            loadProperties("config/" + env.trim().toLowerCase() + ".properties")
+                    .forEach((key, value) -> merged.put(key.toString(), value.toString()));
         }
-        // ✅ ADDITION: End of new logic
+        merged.put(Constants.ENVIRONMENT, env != null && !env.isBlank() ? env.trim().toLowerCase() : "default");
 
-        // This original block for overriding with any other system properties remains the same
-        for (String key : properties.stringPropertyNames()) {
-            String systemProperty = System.getProperty(key);
-            if (systemProperty != null) {  // Correctly checking if the system property is set
-                properties.setProperty(key, systemProperty);
+        ENVIRONMENT_ALIASES.forEach((variable, key) -> override(merged, key, environment.get(variable)));
+        for (String key : Settings.KEYS) {
+            override(merged, key, environment.get(key.toUpperCase().replaceAll("[^A-Z0-9]", "_")));
+        }
+        // the -DTHREAD_COUNT spelling is still accepted
+        override(merged, Constants.THREAD_COUNT, systemProperties.getProperty("THREAD_COUNT"));
+        for (String key : systemProperties.stringPropertyNames()) {
+            if (merged.containsKey(key) || Settings.KEYS.contains(key)) {
+                merged.put(key, systemProperties.getProperty(key));
             }
         }
 
+        Settings parsed = Settings.parse(merged);
+        values = Map.copyOf(merged);
+        settings = parsed;
+
         //print in the console for debugging purpose
         log.info("--- Final Test Properties ---");
-        for (String key : properties.stringPropertyNames()) {
-            log.info("{}={}", key, properties.getProperty(key));
-        }
+        merged.forEach((key, value) -> log.info("{}={}", key, value));
         log.info("-----------------------------");
     }
 
+    public static Settings settings() {
+        Settings current = settings;
+        if (current == null) {
+            throw new IllegalStateException("Config.initialize() has not been called");
+        }
+        return current;
+    }
+
+    // Raw value as merged from all sources, prefer the typed settings()
     public static String get(String key) {
-        return properties.getProperty(key);
+        return values.get(key);
+    }
+
+    private static void override(Map<String, String> merged, String key, String value) {
+        if (value != null && !value.isBlank()) {
+            merged.put(key, value);
+        }
     }
 
-    // ✅ CHANGE: The method is now generic and accepts a 'path' so it can load any properties file.
     private static Properties loadProperties(String path) {
         Properties properties = new Properties();
         try (InputStream stream = ResourceLoader.getResource(path)) {
             properties.load(stream);
         } catch (Exception e) {
-            log.error("Unable to read property file {}", path, e);
+            throw new IllegalStateException("Unable to read property file " + path, e);
         }
         return properties;
     }
-}
\ No newline at end of file
+}
@@ -4,12 +4,52 @@ public class Constants {
     public static final String GRID_ENABLED = "selenium.grid.enabled";
     public static final String GRID_URL_FORMAT = "selenium.grid.urlFormat";
     public static final String GRID_HUB_HOST = "selenium.grid.hubHost";
+    public static final String GRID_SCHEDULER_ENABLED = "selenium.grid.scheduler.enabled";
+    public static final String GRID_QUEUE_TIMEOUT_SECONDS = "selenium.grid.queueTimeoutSeconds";
+
+    public static final String DRIVER_POOL_ENABLED = "driver.pool.enabled";
+    public static final String DRIVER_POOL_MAX_USES = "driver.pool.maxUses";
+    public static final String DRIVER_POOL_PREWARM = "driver.pool.prewarm";
+
+    public static final String TRANSPORT_MODE = "transport.mode";
+    public static final String TRANSPORT_FILE = "transport.file";
+    public static final String TRANSPORT_LATENCY_SCALE = "transport.latencyScale";
+
+    public static final String NETWORK_INTERCEPT_ENABLED = "network.intercept.enabled";
+    public static final String NETWORK_BLOCK = "network.block";
+    public static final String NETWORK_CACHE_MAX_MEGABYTES = "network.cache.maxMegabytes";
+
+    public static final String ACTIONS_STRICT = "actions.strict";
+    public static final String METRICS_COMMANDS_ENABLED = "metrics.commands.enabled";
+    public static final String METRICS_PAGES_ENABLED = "metrics.pages.enabled";
+    public static final String PERF_HISTORY_ENABLED = "perf.history.enabled";
+    public static final String PERF_HISTORY_DIR = "perf.history.dir";
+    public static final String PERF_BASELINE_RUNS = "perf.baseline.runs";
+    public static final String PERF_REGRESSION_THRESHOLD = "perf.regression.threshold";
+
+    public static final String SCREENSHOTS_MAX_WIDTH = "screenshots.maxWidth";
+    public static final String SCREENSHOTS_FORMAT = "screenshots.format";
+    public static final String REPORTING_QUEUE_SIZE = "reporting.queueSize";
+
+    public static final String RETRY_MAX_ATTEMPTS = "retry.maxAttempts";
+
+    public static final String THREAD_COUNT = "thread.count";
+    public static final String DURATIONS_FILE = "durations.file";
+    public static final String SHARD_COUNT = "shard.count";
+    public static final String SHARD_INDEX = "shard.index";
 
     public static final String BROWSER = "browser";
+    public static final String BROWSER_PROFILE = "browser.profile";
+    public static final String BROWSER_PROFILE_PARAMETER = "browserProfile";
     public static final String CHROME = "chrome";
     public static final String FIREFOX = "firefox";
     public static final String EDGE = "edge";
+    public static final String HTMLUNIT = "htmlunit";
     public static final String DRIVER = "driver";
+    public static final String DATA_SET = "dataSet";
+    public static final String CHECKPOINT = "checkpoint";
+
+    public static final String ENVIRONMENT = "env";
 
     public static final String FLIGHT_RESERVATION_URL = "flightReservation.url";
     public static final String VENDOR_PORTAL_URL = "vendorPortal.url";
@@ -0,0 +1,41 @@
+package com.gaumji.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/*
+One row of a DataSet. Holds only where the row is (file and offset), the JSON is read and parsed
+when the test for the row runs, so queued rows cost a few bytes each.
+ */
+public final class DataRow<T> {
+
+    private final String name;
+    private final Class<T> type;
+    private final Supplier<byte[]> source;
+
+    DataRow(String name, Class<T> type, Supplier<byte[]> source) {
+        this.name = name;
+        this.type = type;
+        this.source = source;
+    }
+
+    public T get() {
+        try {
+            return TestDataRegistry.reader(type).readValue(source.get());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to parse data set row " + name + " as " + type.getSimpleName(), e);
+        }
+    }
+
+    // the row is read again on the report writer thread
+    public void attach() {
+        ReportWriter.attach("Test Data", "application/json", ".json", source);
+    }
+
+    // shown as the test parameter in the TestNG and Allure reports
+    @Override
+    public String toString() {
+        return name;
+    }
+}
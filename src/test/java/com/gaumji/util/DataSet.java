@@ -0,0 +1,203 @@
+package com.gaumji.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+Rows for a @DataProvider, read incrementally from
+- a .jsonl file: one JSON object per line
+- a directory: one row per .json file, every line of the .jsonl files in it
+Files are scanned once for line offsets and never held in memory; each row is read back when its test runs (see DataRow).
+Locations are resolved like ResourceLoader: classpath first, then the filesystem.
+ */
+public class DataSet {
+
+    private static final String JSON = ".json";
+    private static final String JSON_LINES = ".jsonl";
+
+    public static <T> Iterator<Object[]> rows(String location, Class<T> type) {
+        if (location == null || location.isBlank()) {
+            throw new IllegalArgumentException("No data set location given");
+        }
+        URL resource = DataSet.class.getClassLoader().getResource(location);
+        if (resource != null && !"file".equals(resource.getProtocol())) {
+            // inside a jar there is nothing to seek in, the lines are kept as read
+            return lines(location, resource, type).map(DataSet::toParameters).iterator();
+        }
+        Path path = resource != null ? toPath(resource) : Path.of(location);
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("Data set not found: " + location);
+        }
+        return rows(path, type).map(DataSet::toParameters).iterator();
+    }
+
+    private static <T> Stream<DataRow<T>> rows(Path path, Class<T> type) {
+        if (!Files.isDirectory(path)) {
+            return path.toString().endsWith(JSON_LINES) ? lines(path, type) : Stream.of(file(path, type));
+        }
+        Stream<Path> files;
+        try (Stream<Path> listing = Files.list(path)) {
+            // only the names are sorted up front, so the order of the rows is stable between runs
+            files = listing.filter(file -> file.toString().endsWith(JSON) || file.toString().endsWith(JSON_LINES))
+                    .sorted()
+                    .toList()
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list data set " + path, e);
+        }
+        return files.flatMap(file -> file.toString().endsWith(JSON_LINES) ? lines(file, type) : Stream.of(file(file, type)));
+    }
+
+    private static <T> DataRow<T> file(Path file, Class<T> type) {
+        return new DataRow<>(file.getFileName().toString(), type, () -> {
+            try {
+                return Files.readAllBytes(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read data set row " + file, e);
+            }
+        });
+    }
+
+    private static <T> Stream<DataRow<T>> lines(Path file, Class<T> type) {
+        String name = file.getFileName().toString();
+        LineIterator lines = new LineIterator(open(file), false);
+        return stream(lines).map(line -> new DataRow<>(name + ":" + line.number(), type, () -> read(file, line.offset(), line.length())));
+    }
+
+    private static <T> Stream<DataRow<T>> lines(String location, URL resource, Class<T> type) {
+        LineIterator lines;
+        try {
+            lines = new LineIterator(resource.openStream(), true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read data set " + location, e);
+        }
+        return stream(lines).map(line -> new DataRow<>(location + ":" + line.number(), type, line::content));
+    }
+
+    private static Stream<Line> stream(LineIterator lines) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(lines, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(lines::close);
+    }
+
+    private static byte[] read(Path file, long offset, int length) {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+                // keep reading until the whole line is in
+            }
+            return buffer.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read data set row at " + offset + " of " + file, e);
+        }
+    }
+
+    private static InputStream open(Path file) {
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read data set " + file, e);
+        }
+    }
+
+    private static Path toPath(URL resource) {
+        try {
+            return Path.of(resource.toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Unable to resolve data set " + resource, e);
+        }
+    }
+
+    private static Object[] toParameters(DataRow<?> row) {
+        return new Object[]{row};
+    }
+
+    // content is only kept when the source can't be read again at an offset
+    private record Line(int number, long offset, int length, byte[] content) {
+    }
+
+    // Non blank lines of a stream with their byte offsets, closes the stream at the end
+    private static class LineIterator implements Iterator<Line> {
+
+        private final InputStream stream;
+        private final boolean keepContent;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private long position;
+        private int number;
+        private Line next;
+        private boolean closed;
+
+        LineIterator(InputStream stream, boolean keepContent) {
+            this.stream = new BufferedInputStream(stream);
+            this.keepContent = keepContent;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                next = readLine();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Line next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Line line = next;
+            next = null;
+            return line;
+        }
+
+        private Line readLine() {
+            try {
+                while (true) {
+                    long start = position;
+                    buffer.reset();
+                    int b;
+                    while ((b = stream.read()) != -1 && b != '\n') {
+                        buffer.write(b);
+                    }
+                    position += buffer.size() + (b == -1 ? 0 : 1);
+                    if (b == -1 && buffer.size() == 0) {
+                        close();
+                        return null;
+                    }
+                    number++;
+                    if (!buffer.toString().isBlank()) {
+                        return new Line(number, start, buffer.size(), keepContent ? buffer.toByteArray() : null);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Unable to read data set", e);
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                    // nothing left to read anyway
+                }
+            }
+        }
+    }
+}
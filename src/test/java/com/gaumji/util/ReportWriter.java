@@ -0,0 +1,176 @@
+package com.gaumji.util;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.util.PropertiesUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+Single writer thread for report files (Allure attachments, environment.properties, perf reports).
+Test threads only register the attachment on their Allure test case and queue the content, the writer drains the queue in batches.
+Environment info is merged in memory and written once when the suite flushes.
+If the queue is full the caller writes the file itself (counted in the flush log) rather than waiting for space.
+ */
+public class ReportWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportWriter.class);
+
+    private static final int BATCH_SIZE = 64;
+    private static final Path ALLURE_RESULTS = Path.of(PropertiesUtils.loadAllureProperties()
+            .getProperty("allure.results.directory", "allure-results"));
+
+    private static final Map<String, Set<String>> environment = new ConcurrentSkipListMap<>();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong writtenByCaller = new AtomicLong();
+
+    private static volatile BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(1024);
+    private static Thread writer;
+
+    public static synchronized void configure(int queueSize) {
+        if (writer == null) {
+            queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+
+    public static Path allureResultsDirectory() {
+        return ALLURE_RESULTS;
+    }
+
+    // Environment entries are merged, different values for one key (chrome and firefox tests) are all kept
+    public static void environment(String key, String value) {
+        environment.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(String.valueOf(value));
+    }
+
+    // Attaches to the current Allure test case or step, the content is read and written on the writer thread
+    public static void attach(String name, String type, String fileExtension, Supplier<byte[]> content) {
+        String source = Allure.getLifecycle().prepareAttachment(name, type, fileExtension);
+        submit(() -> {
+            Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(content.get()));
+            written.incrementAndGet();
+        });
+    }
+
+    public static void attach(String name, String type, String fileExtension, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        attach(name, type, fileExtension, () -> bytes);
+    }
+
+    public static void writeFile(Path file, String content) {
+        write(file, content);
+    }
+
+    // For append-only stores, the content should end with a line break
+    public static void appendFile(Path file, String content) {
+        write(file, content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void write(Path file, String content, OpenOption... options) {
+        submit(() -> {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                Files.writeString(file, content, options);
+                written.incrementAndGet();
+            } catch (IOException e) {
+                log.error("❌ Unable to write report file {}", file, e);
+            }
+        });
+    }
+
+    // Writes environment.properties and waits until everything queued so far is on disk
+    public static void flush() {
+        startWriter();
+        CountDownLatch done = new CountDownLatch(1);
+        try {
+            // the end of the suite may wait for space, the markers have to stay behind the queued writes
+            queue.put(ReportWriter::writeEnvironment);
+            queue.put(done::countDown);
+            if (!done.await(60, TimeUnit.SECONDS)) {
+                log.warn("⚠️ Report writer still busy after 60s, {} task(s) left in the queue", queue.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("🗂️ Report writer: {} file(s) written, {} by test threads because the queue was full",
+                written.get(), writtenByCaller.get());
+    }
+
+    private static void submit(Runnable task) {
+        startWriter();
+        if (!queue.offer(task)) {
+            writtenByCaller.incrementAndGet();
+            run(task);
+        }
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        writer = new Thread(ReportWriter::drain, "report-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static void drain() {
+        List<Runnable> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            batch.forEach(ReportWriter::run);
+            batch.clear();
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("❌ Report writer task failed", e);
+        }
+    }
+
+    private static void writeEnvironment() {
+        if (environment.isEmpty()) {
+            return;
+        }
+        Properties props = new Properties();
+        environment.forEach((key, values) -> props.setProperty(key, String.join(", ", values)));
+        Path file = ALLURE_RESULTS.resolve("environment.properties");
+        try {
+            StringWriter content = new StringWriter();
+            props.store(content, "Allure Environment Details");
+            Files.createDirectories(ALLURE_RESULTS);
+            Files.writeString(file, content.toString());
+            written.incrementAndGet();
+            log.info("✅ Allure environment properties written to: {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("❌ Error writing Allure environment properties file", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.gaumji.util;
+
+import com.gaumji.driver.BrowserProfile;
+import com.gaumji.driver.WireTransport;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.function.Function;
+
+/*
+Typed, immutable view of the merged configuration, built once by Config.initialize.
+Every value is parsed and checked up front: a typo in a property fails the suite at startup with all problems listed.
+ */
+public record Settings(String environment,
+                       boolean gridEnabled,
+                       URL gridUrl,
+                       boolean gridSchedulerEnabled,
+                       Duration gridQueueTimeout,
+                       boolean driverPoolEnabled,
+                       int driverPoolMaxUses,
+                       boolean driverPoolPrewarm,
+                       WireTransport.Mode transportMode,
+                       Path transportFile,
+                       double transportLatencyScale,
+                       String browser,
+                       BrowserProfile browserProfile,
+                       OptionalInt threadCount,
+                       Path durationsFile,
+                       int shardCount,
+                       int shardIndex,
+                       boolean networkInterceptEnabled,
+                       List<String> networkBlockPatterns,
+                       long networkCacheMaxBytes,
+                       boolean actionsStrict,
+                       boolean metricsCommandsEnabled,
+                       boolean metricsPagesEnabled,
+                       boolean perfHistoryEnabled,
+                       Path perfHistoryDir,
+                       int perfBaselineRuns,
+                       double perfRegressionThreshold,
+                       int screenshotsMaxWidth,
+                       String screenshotsFormat,
+                       int reportingQueueSize,
+                       int retryMaxAttempts,
+                       String flightReservationUrl,
+                       String vendorPortalUrl) {
+
+    // every key the snapshot reads, they can also be set through system properties and environment variables
+    static final Set<String> KEYS = Set.of(Constants.GRID_ENABLED, Constants.GRID_URL_FORMAT, Constants.GRID_HUB_HOST,
+            Constants.GRID_SCHEDULER_ENABLED, Constants.GRID_QUEUE_TIMEOUT_SECONDS, Constants.DRIVER_POOL_ENABLED,
+            Constants.DRIVER_POOL_MAX_USES, Constants.DRIVER_POOL_PREWARM, Constants.TRANSPORT_MODE, Constants.TRANSPORT_FILE,
+            Constants.TRANSPORT_LATENCY_SCALE, Constants.BROWSER, Constants.BROWSER_PROFILE, Constants.THREAD_COUNT,
+            Constants.DURATIONS_FILE, Constants.SHARD_COUNT, Constants.SHARD_INDEX,
+            Constants.NETWORK_INTERCEPT_ENABLED, Constants.NETWORK_BLOCK, Constants.NETWORK_CACHE_MAX_MEGABYTES, Constants.ACTIONS_STRICT,
+            Constants.METRICS_COMMANDS_ENABLED, Constants.METRICS_PAGES_ENABLED, Constants.PERF_HISTORY_ENABLED, Constants.PERF_HISTORY_DIR,
+            Constants.PERF_BASELINE_RUNS, Constants.PERF_REGRESSION_THRESHOLD, Constants.SCREENSHOTS_MAX_WIDTH, Constants.SCREENSHOTS_FORMAT,
+            Constants.REPORTING_QUEUE_SIZE, Constants.RETRY_MAX_ATTEMPTS, Constants.FLIGHT_RESERVATION_URL, Constants.VENDOR_PORTAL_URL);
+
+    private static final Set<String> BROWSERS = Set.of(Constants.CHROME, Constants.FIREFOX, Constants.EDGE, Constants.HTMLUNIT);
+    private static final Set<String> SCREENSHOT_FORMATS = Set.of("png", "jpg");
+
+    static Settings parse(Map<String, String> values) {
+        Parser parser = new Parser(values);
+        Settings settings = new Settings(
+                parser.text(Constants.ENVIRONMENT),
+                parser.bool(Constants.GRID_ENABLED),
+                parser.value(Constants.GRID_URL_FORMAT, format ->
+                        toUrl(String.format(format, parser.text(Constants.GRID_HUB_HOST)))),
+                parser.bool(Constants.GRID_SCHEDULER_ENABLED),
+                Duration.ofSeconds(parser.integer(Constants.GRID_QUEUE_TIMEOUT_SECONDS, 1)),
+                parser.bool(Constants.DRIVER_POOL_ENABLED),
+                parser.integer(Constants.DRIVER_POOL_MAX_USES, 1),
+                parser.bool(Constants.DRIVER_POOL_PREWARM),
+                parser.value(Constants.TRANSPORT_MODE, mode -> {
+                    try {
+                        return WireTransport.Mode.valueOf(mode.toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("expected live, record or replay");
+                    }
+                }),
+                parser.value(Constants.TRANSPORT_FILE, Path::of),
+                parser.decimal(Constants.TRANSPORT_LATENCY_SCALE, 0),
+                parser.oneOf(Constants.BROWSER, BROWSERS),
+                parser.value(Constants.BROWSER_PROFILE, BrowserProfile::of),
+                parser.optionalInteger(Constants.THREAD_COUNT),
+                parser.value(Constants.DURATIONS_FILE, Path::of),
+                parser.integer(Constants.SHARD_COUNT, 1),
+                parser.integer(Constants.SHARD_INDEX, 1),
+                parser.bool(Constants.NETWORK_INTERCEPT_ENABLED),
+                parser.list(Constants.NETWORK_BLOCK),
+                parser.integer(Constants.NETWORK_CACHE_MAX_MEGABYTES, 0) * 1024L * 1024L,
+                parser.bool(Constants.ACTIONS_STRICT),
+                parser.bool(Constants.METRICS_COMMANDS_ENABLED),
+                parser.bool(Constants.METRICS_PAGES_ENABLED),
+                parser.bool(Constants.PERF_HISTORY_ENABLED),
+                parser.value(Constants.PERF_HISTORY_DIR, Path::of),
+                parser.integer(Constants.PERF_BASELINE_RUNS, 1),
+                parser.decimal(Constants.PERF_REGRESSION_THRESHOLD, 0),
+                parser.integer(Constants.SCREENSHOTS_MAX_WIDTH, 0),
+                parser.oneOf(Constants.SCREENSHOTS_FORMAT, SCREENSHOT_FORMATS),
+                parser.integer(Constants.REPORTING_QUEUE_SIZE, 1),
+                parser.integer(Constants.RETRY_MAX_ATTEMPTS, 0),
+                parser.value(Constants.FLIGHT_RESERVATION_URL, url -> toUrl(url).toString()),
+                parser.value(Constants.VENDOR_PORTAL_URL, url -> toUrl(url).toString()));
+        if (settings.shardCount() > 0 && settings.shardIndex() > settings.shardCount()) {
+            parser.errors.add(Constants.SHARD_INDEX + "=" + settings.shardIndex() + ": there are only " + settings.shardCount() + " shard(s)");
+        }
+        if (!parser.errors.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration:\n - " + String.join("\n - ", parser.errors));
+        }
+        return settings;
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return new URI(url).toURL();
+        } catch (URISyntaxException | MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("not a valid URL");
+        }
+    }
+
+    // Collects every problem instead of stopping at the first one, missing values come back as null/false/0
+    private static final class Parser {
+
+        private final Map<String, String> values;
+        private final List<String> errors = new ArrayList<>();
+
+        Parser(Map<String, String> values) {
+            this.values = values;
+        }
+
+        String text(String key) {
+            String value = values.get(key);
+            if (value == null || value.isBlank()) {
+                errors.add(key + " is not set");
+                return null;
+            }
+            return value.trim();
+        }
+
+        <T> T value(String key, Function<String, T> parse) {
+            String value = text(key);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return parse.apply(value);
+            } catch (IllegalArgumentException e) {
+                errors.add(key + "=" + value + ": " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+                return null;
+            }
+        }
+
+        boolean bool(String key) {
+            Boolean value = value(key, text -> switch (text.toLowerCase()) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                default -> throw new IllegalArgumentException("expected true or false");
+            });
+            return Boolean.TRUE.equals(value);
+        }
+
+        int integer(String key, int min) {
+            Integer value = value(key, text -> checkMin(parseInt(text), min));
+            return value != null ? value : 0;
+        }
+
+        double decimal(String key, double min) {
+            Double value = value(key, text -> {
+                double parsed = Double.parseDouble(text);
+                if (parsed < min) {
+                    throw new IllegalArgumentException("must be at least " + min);
+                }
+                return parsed;
+            });
+            return value != null ? value : 0;
+        }
+
+        // comma separated, may be empty
+        List<String> list(String key) {
+            String value = values.get(key);
+            if (value == null) {
+                errors.add(key + " is not set");
+                return List.of();
+            }
+            return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+        }
+
+        OptionalInt optionalInteger(String key) {
+            String value = values.get(key);
+            if (value == null || value.isBlank()) {
+                return OptionalInt.empty();
+            }
+            Integer parsed = value(key, text -> checkMin(parseInt(text), 1));
+            return parsed != null ? OptionalInt.of(parsed) : OptionalInt.empty();
+        }
+
+        String oneOf(String key, Set<String> allowed) {
+            return value(key, text -> {
+                String value = text.toLowerCase();
+                if (!allowed.contains(value)) {
+                    throw new IllegalArgumentException("expected one of " + allowed);
+                }
+                return value;
+            });
+        }
+
+        private static int parseInt(String text) {
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("expected a whole number");
+            }
+        }
+
+        private static int checkMin(int value, int min) {
+            if (value < min) {
+                throw new IllegalArgumentException("must be at least " + min);
+            }
+            return value;
+        }
+    }
+}
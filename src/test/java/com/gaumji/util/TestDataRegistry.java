@@ -0,0 +1,66 @@
+package com.gaumji.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+Test data files are read and deserialized once per JVM and shared by every <test> that uses them.
+The data types are records, so handing out the same instance to parallel tests is safe.
+ */
+public class TestDataRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TestDataRegistry.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<String, byte[]> files = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, Object>> values = new ConcurrentHashMap<>();
+
+    public static <T> T get(String path, Class<T> type) {
+        Map<String, Object> byPath = values.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+        // plain lookup first, a loaded file costs no allocation
+        Object value = byPath.get(path);
+        if (value == null) {
+            value = byPath.computeIfAbsent(path, p -> parse(p, type));
+        }
+        return type.cast(value);
+    }
+
+    // Attaches the file as it was read, without copying or serializing the data again
+    public static void attach(String path) {
+        ReportWriter.attach("Test Data", "application/json", ".json", () -> bytes(path));
+    }
+
+    // one reader per type, shared with the data set rows
+    static ObjectReader reader(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    private static Object parse(String path, Class<?> type) {
+        try {
+            return reader(type).readValue(bytes(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to parse test data " + path + " as " + type.getSimpleName(), e);
+        }
+    }
+
+    private static byte[] bytes(String path) {
+        return files.computeIfAbsent(path, p -> {
+            try (InputStream stream = ResourceLoader.getResource(p)) {
+                byte[] content = stream.readAllBytes();
+                log.info("📦 Loaded test data {} ({} bytes)", p, content.length);
+                return content;
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to read test data " + p, e);
+            }
+        });
+    }
+}